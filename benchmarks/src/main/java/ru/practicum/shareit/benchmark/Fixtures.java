@@ -0,0 +1,116 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dao.ItemBooking;
+import ru.practicum.shareit.item.dao.ItemComment;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the rows the repositories would return for a page, so that the benchmarks measure only
+ * the mapping and serialization done on top of them.
+ */
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.now();
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@mail.com");
+        return user;
+    }
+
+    static Item item(long id, User owner, ItemRequest request) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("item" + id);
+        item.setDescription("description of item " + id);
+        item.setAvailable(true);
+        item.setUser(owner);
+        item.setItemRequest(request);
+        return item;
+    }
+
+    static ItemRequest request(long id, User user) {
+        ItemRequest request = new ItemRequest();
+        request.setId(id);
+        request.setDescription("request " + id);
+        request.setCreated(NOW.minusDays(id));
+        request.setUser(user);
+        return request;
+    }
+
+    static List<ItemDtoResponse> itemDtos(int count) {
+        List<ItemDtoResponse> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            items.add(new ItemDtoResponse(id, "item" + id, "description of item " + id, true, null));
+        }
+        return items;
+    }
+
+    /**
+     * Half of the bookings of every item lie in the past and half in the future, ordered by start
+     * descending like {@code findByItemIdInAndStatusNot}.
+     */
+    static List<ItemBooking> itemBookings(int items, int perItem) {
+        List<ItemBooking> bookings = new ArrayList<>(items * perItem);
+        long id = 1;
+        for (long itemId = 1; itemId <= items; itemId++) {
+            for (int i = 0; i < perItem; i++) {
+                LocalDateTime start = NOW.plusDays(perItem / 2 - i);
+                bookings.add(new ItemBooking(itemId, id++, start, start.plusHours(12), 2L));
+            }
+        }
+        return bookings;
+    }
+
+    static List<ItemComment> itemComments(int items, int perItem) {
+        List<ItemComment> comments = new ArrayList<>(items * perItem);
+        long id = 1;
+        for (long itemId = 1; itemId <= items; itemId++) {
+            for (int i = 0; i < perItem; i++) {
+                comments.add(new ItemComment(itemId, id++, "comment " + i, "user2", Instant.now()));
+            }
+        }
+        return comments;
+    }
+
+    static List<Booking> bookings(int count) {
+        User owner = user(1);
+        User booker = user(2);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Booking booking = new Booking();
+            booking.setId(id);
+            booking.setStart(NOW.minusDays(id + 1));
+            booking.setEnd(NOW.minusDays(id));
+            booking.setStatus(Status.APPROVED);
+            booking.setItem(item(id, owner, null));
+            booking.setUser(booker);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    static List<BookingDtoResponse> bookingDtos(int count) {
+        List<BookingDtoResponse> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            bookings.add(new BookingDtoResponse(id, NOW.minusDays(id + 1), NOW.minusDays(id), Status.APPROVED,
+                    2L, "user2", id, "item" + id));
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ItemServiceImpl.findById} for the owner, against an in-memory database where one owner holds
+ * a growing number of bookings spread over the owner's items, the measured one included. The last and
+ * next booking are looked up per item, so the time should stay flat from the smallest to the largest
+ * volume; a path that loads the owner's bookings again shows up as time growing with {@code bookings}.
+ * The whole service stack takes long to compile, hence the long warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemFindByIdBenchmark {
+    static final long OWNER_ID = 1;
+    static final long BOOKER_ID = 2;
+    static final long ITEM_ID = 1;
+    static final int ITEMS = 10;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"100", "10000", "100000"})
+    int bookings;
+
+    ConfigurableApplicationContext context;
+    ItemService itemService;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("load")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark-" + bookings,
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemDtoResponse findByIdForOwner() {
+        return itemService.findById(ITEM_ID, OWNER_ID);
+    }
+
+    /**
+     * Half of the bookings lie in the past and half in the future, every tenth one is rejected, and they
+     * go round-robin over the owner's items.
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("insert into users (id, name, email) values (?, 'owner', 'owner@mail.com'), " +
+                "(?, 'booker', 'booker@mail.com')", OWNER_ID, BOOKER_ID);
+        List<Object[]> items = new ArrayList<>(ITEMS);
+        for (long id = 1; id <= ITEMS; id++) {
+            items.add(new Object[]{id, OWNER_ID, "item" + id, "description of item " + id});
+        }
+        jdbcTemplate.batchUpdate("insert into items (id, user_id, name, description, available) " +
+                "values (?, ?, ?, ?, true)", items);
+        jdbcTemplate.update("insert into item_booking_states (item_id) select id from items");
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= bookings; id++) {
+            Timestamp start = Timestamp.valueOf(Fixtures.NOW.plusHours(id - bookings / 2));
+            Timestamp end = Timestamp.valueOf(Fixtures.NOW.plusHours(id - bookings / 2 + 1));
+            String status = id % 10 == 0 ? "REJECTED" : "APPROVED";
+            rows.add(new Object[]{id, start, end, status, (id - 1) % ITEMS + 1, BOOKER_ID});
+            if (rows.size() == BATCH_SIZE || id == bookings) {
+                jdbcTemplate.batchUpdate("insert into bookings (id, start, end_time, status, item_id, user_id) " +
+                        "values (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+}
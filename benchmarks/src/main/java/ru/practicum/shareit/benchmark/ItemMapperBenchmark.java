@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dao.ItemBooking;
+import ru.practicum.shareit.item.dao.ItemComment;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The owner's item page: comments and bookings grouped by item the way
+ * {@code ItemServiceImpl.setCommentsAndBookings} does, then last and next booking picked per item,
+ * which calls {@code LocalDateTime.now()} per booking and walks the future ones with
+ * {@code reduce((f, s) -> s)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+    @Param({"20", "100"})
+    int items;
+
+    @Param({"2", "50"})
+    int bookingsPerItem;
+
+    List<ItemDtoResponse> itemDtos;
+    List<ItemComment> comments;
+    List<ItemBooking> bookings;
+    Map<Long, List<ItemComment>> commentsByItem;
+    Map<Long, List<ItemBooking>> bookingsByItem;
+
+    @Setup
+    public void setup() {
+        itemDtos = Fixtures.itemDtos(items);
+        comments = Fixtures.itemComments(items, 3);
+        bookings = Fixtures.itemBookings(items, bookingsPerItem);
+        commentsByItem = groupComments();
+        bookingsByItem = groupBookings();
+    }
+
+    @Benchmark
+    public List<ItemDtoResponse> mapToItemDto() {
+        return ItemMapper.mapToItemDto(itemDtos, commentsByItem, bookingsByItem);
+    }
+
+    @Benchmark
+    public Map<Long, List<ItemBooking>> groupBookings() {
+        return bookings.stream().collect(groupingBy(ItemBooking::getItemId, toList()));
+    }
+
+    @Benchmark
+    public Map<Long, List<ItemComment>> groupComments() {
+        return comments.stream().collect(groupingBy(ItemComment::getItemId, toList()));
+    }
+
+    @Benchmark
+    public List<ItemDtoResponse> groupAndMapToItemDto() {
+        return ItemMapper.mapToItemDto(itemDtos, groupComments(), groupBookings());
+    }
+}
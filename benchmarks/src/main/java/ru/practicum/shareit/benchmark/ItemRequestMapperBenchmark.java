@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The owner's item requests with the items offered for them, grouped by request like
+ * {@code ItemRequestServiceImpl.findItems} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestMapperBenchmark {
+    @Param({"20", "100"})
+    int requests;
+
+    @Param({"5"})
+    int itemsPerRequest;
+
+    List<ItemRequest> itemRequests;
+    Map<ItemRequest, List<Item>> itemsByRequest;
+
+    @Setup
+    public void setup() {
+        User owner = Fixtures.user(1);
+        User requester = Fixtures.user(2);
+        itemRequests = new ArrayList<>(requests);
+        List<Item> items = new ArrayList<>(requests * itemsPerRequest);
+        long itemId = 1;
+        for (long id = 1; id <= requests; id++) {
+            ItemRequest request = Fixtures.request(id, requester);
+            itemRequests.add(request);
+            for (int i = 0; i < itemsPerRequest; i++) {
+                items.add(Fixtures.item(itemId++, owner, request));
+            }
+        }
+        itemsByRequest = items.stream().collect(Collectors.groupingBy(Item::getItemRequest, Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoResponse> mapToItemRequestDto() {
+        return ItemRequestMapper.mapToItemRequestDto(itemRequests, itemsByRequest);
+    }
+}
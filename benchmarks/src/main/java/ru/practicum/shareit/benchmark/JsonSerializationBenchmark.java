@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.item.dao.ItemBooking;
+import ru.practicum.shareit.item.dao.ItemComment;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Writing response pages to bytes with an object mapper set up like the one Spring Boot gives the
+ * controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"20", "100"})
+    int size;
+
+    ObjectWriter writer;
+    List<ItemDtoResponse> items;
+    List<BookingDtoResponse> bookings;
+    List<ItemRequestDtoResponse> requests;
+
+    @Setup
+    public void setup() {
+        writer = Jackson2ObjectMapperBuilder.json().featuresToDisable(WRITE_DATES_AS_TIMESTAMPS).build().writer();
+        items = ItemMapper.mapToItemDto(Fixtures.itemDtos(size),
+                Fixtures.itemComments(size, 3).stream().collect(groupingBy(ItemComment::getItemId, toList())),
+                Fixtures.itemBookings(size, 4).stream().collect(groupingBy(ItemBooking::getItemId, toList())));
+        bookings = Fixtures.bookingDtos(size);
+        requests = Fixtures.itemDtos(size).stream()
+                .map(i -> new ItemRequestDtoResponse(i.getId(), "request " + i.getId(), Fixtures.NOW,
+                        List.of(new ItemRequestDtoResponse.ItemDto(i.getId(), i.getName(), i.getDescription(),
+                                i.getAvailable(), i.getId()))))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] writeItems() throws JsonProcessingException {
+        return writer.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] writeBookings() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] writeItemRequests() throws JsonProcessingException {
+        return writer.writeValueAsBytes(requests);
+    }
+}
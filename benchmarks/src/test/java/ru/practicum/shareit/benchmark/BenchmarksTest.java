@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmark;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BenchmarksTest {
+    @Test
+    void itemMapper_whenBookingsAroundNow_thenSetLastAndNextBooking() {
+        ItemMapperBenchmark benchmark = new ItemMapperBenchmark();
+        benchmark.items = 20;
+        benchmark.bookingsPerItem = 4;
+        benchmark.setup();
+
+        List<ItemDtoResponse> result = benchmark.groupAndMapToItemDto();
+
+        assertEquals(20, result.size());
+        assertEquals(3, result.get(0).getComments().size());
+        assertNotNull(result.get(0).getLastBooking());
+        assertNotNull(result.get(0).getNextBooking());
+        assertEquals(result, benchmark.mapToItemDto());
+    }
+
+    @Test
+    void bookingMapper() {
+        BookingMapperBenchmark benchmark = new BookingMapperBenchmark();
+        benchmark.size = 20;
+        benchmark.setup();
+
+        assertEquals(Fixtures.bookingDtos(20), benchmark.mapToBookingDto());
+    }
+
+    @Test
+    void itemRequestMapper() {
+        ItemRequestMapperBenchmark benchmark = new ItemRequestMapperBenchmark();
+        benchmark.requests = 20;
+        benchmark.itemsPerRequest = 5;
+        benchmark.setup();
+
+        assertEquals(5, benchmark.mapToItemRequestDto().get(0).getItems().size());
+    }
+
+    @Test
+    void itemFindById_whenOwnerHasBookings_thenSetLastAndNextBooking() {
+        ItemFindByIdBenchmark benchmark = new ItemFindByIdBenchmark();
+        benchmark.bookings = 100;
+        benchmark.setup();
+        try {
+            ItemDtoResponse result = benchmark.findByIdForOwner();
+
+            assertEquals(ItemFindByIdBenchmark.ITEM_ID, result.getId());
+            assertNotNull(result.getLastBooking());
+            assertNotNull(result.getNextBooking());
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    @Test
+    void jsonSerialization() throws Exception {
+        JsonSerializationBenchmark benchmark = new JsonSerializationBenchmark();
+        benchmark.size = 20;
+        benchmark.setup();
+
+        assertTrue(new String(benchmark.writeItems()).contains("\"lastBooking\":{"));
+        assertTrue(new String(benchmark.writeBookings()).contains("\"start\":\""));
+        assertTrue(new String(benchmark.writeItemRequests()).contains("\"items\":[{"));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in mode that runs every Tomcat request, and the blocking calls made on it, on its own
+ * virtual thread instead of the bounded platform-thread pool. Enabled with
+ * {@code shareit.virtual-threads.enabled=true}; needs a Java 21 runtime, the executor is looked up
+ * reflectively because the build still targets Java 11. Shared by the server and the gateway.
+ * <p>
+ * The executor is owned by this configuration rather than published as a bean: an {@code Executor}
+ * bean would make Boot back off from its {@code applicationTaskExecutor}, and {@code @Async} work
+ * would silently move onto the request executor.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements DisposableBean {
+    private final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            log.info("Tomcat requests are handled on virtual threads");
+            protocolHandler.setExecutor(virtualThreadExecutor);
+        };
+    }
+
+    @Override
+    public void destroy() {
+        virtualThreadExecutor.shutdownNow();
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer, running on " + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can not create a virtual thread executor", e);
+        }
+    }
+}
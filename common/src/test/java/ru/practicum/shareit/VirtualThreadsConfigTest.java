@@ -0,0 +1,58 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsConfigTest {
+    private static final int RUNTIME = Runtime.version().feature();
+
+    @Test
+    void newVirtualThreadPerTaskExecutor_whenRuntimeIsOlderThan21_thenFailWithClearMessage() {
+        assumeTrue(RUNTIME < 21);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                VirtualThreadsConfig::newVirtualThreadPerTaskExecutor);
+
+        assertTrue(e.getMessage().startsWith("Virtual threads need Java 21"));
+    }
+
+    @Test
+    void newVirtualThreadPerTaskExecutor_whenRuntimeIs21OrNewer_thenRunTasksOnVirtualThreads() throws Exception {
+        assumeTrue(RUNTIME >= 21);
+
+        ExecutorService executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Object> isVirtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+
+            assertTrue((Boolean) isVirtual.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void virtualThreadsConfig_whenEnabled_thenKeepApplicationTaskExecutor() {
+        assumeTrue(RUNTIME >= 21);
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+                .withUserConfiguration(VirtualThreadsConfig.class)
+                .withPropertyValues("shareit.virtual-threads.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class);
+                    assertThat(context).hasBean("applicationTaskExecutor");
+                    assertThat(context).doesNotHaveBean(ExecutorService.class);
+                });
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the reactive profile on Reactor Netty. Tomcat stays on the classpath for the servlet
+ * gateway and would otherwise be picked first.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveGatewayConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -2,8 +2,9 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
@@ -13,14 +14,16 @@ import java.util.Map;
 import static java.lang.String.format;
 
 @Service
+@Profile("!reactive")
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> serverRequestFactory)
                         .build()
         );
     }
@@ -37,11 +40,19 @@ public class BookingClient extends BaseClient {
         return get(format("/%d", id), ownerId);
     }
 
-    public ResponseEntity<Object> findAllByUserId(long userId, String state, int from, int size) {
+    public ResponseEntity<Object> findAllByUserId(long userId, String state, int from, int size, String after) {
+        if (after != null) {
+            return get("?state={state}&from={from}&size={size}&after={after}", userId,
+                    Map.of("state", state, "from", from, "size", size, "after", after));
+        }
         return get("?state={state}&from={from}&size={size}", userId, Map.of("state", state, "from", from, "size", size));
     }
 
-    public ResponseEntity<Object> findAllByOwnerId(long ownerId, String state, int from, int size) {
+    public ResponseEntity<Object> findAllByOwnerId(long ownerId, String state, int from, int size, String after) {
+        if (after != null) {
+            return get("/owner?state={state}&from={from}&size={size}&after={after}", ownerId,
+                    Map.of("state", state, "from", from, "size", size, "after", after));
+        }
         return get("/owner?state={state}&from={from}&size={size}", ownerId, Map.of("state", state, "from", from, "size", size));
     }
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,6 +11,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Validated
@@ -39,15 +41,17 @@ public class BookingController {
     public ResponseEntity<Object> findByUserId(@RequestHeader(name = "X-Sharer-User-Id") long userId,
                                                @RequestParam(defaultValue = "ALL") String state,
                                                @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                               @RequestParam(defaultValue = "20") @Positive int size) {
-        return client.findAllByUserId(userId, state, from, size);
+                                               @RequestParam(defaultValue = "20") @Positive int size,
+                                               @RequestParam(required = false) String after) {
+        return client.findAllByUserId(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> findByOwnerId(@RequestHeader(name = "X-Sharer-User-Id") long ownerId,
                                                 @RequestParam(defaultValue = "ALL") String state,
                                                 @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                @RequestParam(defaultValue = "20") @Positive int size) {
-        return client.findAllByOwnerId(ownerId, state, from, size);
+                                                @RequestParam(defaultValue = "20") @Positive int size,
+                                                @RequestParam(required = false) String after) {
+        return client.findAllByOwnerId(ownerId, state, from, size, after);
     }
 }
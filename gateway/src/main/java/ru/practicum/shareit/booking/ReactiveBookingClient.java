@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.Map;
+
+import static java.lang.String.format;
+
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector serverConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> save(BookingDto bookingDto, long userId) {
+        return post("", userId, bookingDto);
+    }
+
+    public Mono<ResponseEntity<Object>> update(long id, long userId, boolean approved) {
+        return patch(format("/%d?approved={approved}", id), userId, Map.of("approved", approved), null);
+    }
+
+    public Mono<ResponseEntity<Object>> findById(long id, long ownerId) {
+        return get(format("/%d", id), ownerId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllByUserId(long userId, String state, int from, int size, String after) {
+        if (after != null) {
+            return get("?state={state}&from={from}&size={size}&after={after}", userId,
+                    Map.of("state", state, "from", from, "size", size, "after", after));
+        }
+        return get("?state={state}&from={from}&size={size}", userId, Map.of("state", state, "from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<Object>> findAllByOwnerId(long ownerId, String state, int from, int size, String after) {
+        if (after != null) {
+            return get("/owner?state={state}&from={from}&size={size}&after={after}", ownerId,
+                    Map.of("state", state, "from", from, "size", size, "after", after));
+        }
+        return get("/owner?state={state}&from={from}&size={size}", ownerId, Map.of("state", state, "from", from, "size", size));
+    }
+}
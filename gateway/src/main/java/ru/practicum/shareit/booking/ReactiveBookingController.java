@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient client;
+
+    @PostMapping()
+    public Mono<ResponseEntity<Object>> save(@RequestBody @Validated BookingDto bookingDto,
+                                             @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.save(bookingDto, userId);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> update(@PathVariable(name = "bookingId") long id,
+                                               @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                               @RequestParam boolean approved) {
+        return client.update(id, userId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> findById(@PathVariable(name = "bookingId") long id,
+                                                 @RequestHeader(name = "X-Sharer-User-Id") long ownerId) {
+        return client.findById(id, ownerId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findByUserId(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                     @RequestParam(defaultValue = "ALL") String state,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                     @RequestParam(defaultValue = "20") @Positive int size,
+                                                     @RequestParam(required = false) String after) {
+        return client.findAllByUserId(userId, state, from, size, after);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> findByOwnerId(@RequestHeader(name = "X-Sharer-User-Id") long ownerId,
+                                                      @RequestParam(defaultValue = "ALL") String state,
+                                                      @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                      @RequestParam(defaultValue = "20") @Positive int size,
+                                                      @RequestParam(required = false) String after) {
+        return client.findAllByOwnerId(ownerId, state, from, size, after);
+    }
+}
@@ -5,14 +5,27 @@ import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "content-length");
+
     protected final RestTemplate rest;
+    @Nullable
+    private final ResponseCache cache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache cache) {
         this.rest = rest;
+        this.cache = cache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -27,6 +40,60 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * Same as {@link #get(String, long)}, but answers from the response cache while the cached entry is
+     * fresh, and revalidates a stale entry with {@code If-None-Match} instead of downloading it again.
+     * When the client's own {@code If-None-Match} matches the tag of the response, answers
+     * {@code 304 Not Modified} without a body.
+     */
+    protected ResponseEntity<Object> getCached(String path, @Nullable Long userId, @Nullable String ifNoneMatch) {
+        if (cache == null) {
+            HttpHeaders headers = defaultHeaders(userId);
+            if (ifNoneMatch != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+            return send(rest.getUriTemplateHandler().expand(path), headers);
+        }
+        URI uri = rest.getUriTemplateHandler().expand(path);
+        ResponseCache.Entry cached = cache.get(uri, userId);
+        if (cached != null && cache.isFresh(cached)) {
+            return prepareCachedResponse(cached.getHeaders(), cached.getBody(), ifNoneMatch);
+        }
+
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null && cached.getEtag() != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+        long generation = cache.generation(uri);
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+
+        if (cached != null && shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            cache.revalidated(uri, userId, cached, generation);
+            return prepareCachedResponse(cached.getHeaders(), cached.getBody(), ifNoneMatch);
+        }
+        if (shareitServerResponse.getStatusCode() == HttpStatus.OK && shareitServerResponse.getBody() != null) {
+            cache.put(uri, userId, shareitServerResponse.getHeaders(), shareitServerResponse.getBody(), generation);
+            return prepareCachedResponse(shareitServerResponse.getHeaders(), shareitServerResponse.getBody(),
+                    ifNoneMatch);
+        }
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    /**
+     * Drops the cached responses of the path for every user; called after a write that changes them.
+     */
+    protected void invalidate(String path) {
+        if (cache != null) {
+            cache.invalidate(rest.getUriTemplateHandler().expand(path));
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -75,23 +142,39 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Sends the request and passes the server response through as raw bytes together with its
+     * Content-Type and other end-to-end headers, so the body is never parsed by the gateway.
+     */
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private ResponseEntity<Object> send(URI uri, HttpHeaders headers) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    static HttpHeaders defaultHeaders(@Nullable Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
@@ -101,15 +184,45 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    /**
+     * Answers {@code 304 Not Modified} with the headers of a successful response but no body when the
+     * client's {@code If-None-Match} lists its tag, or {@code *}; tags are compared weakly.
+     */
+    static ResponseEntity<Object> prepareCachedResponse(HttpHeaders headers, byte[] body,
+                                                        @Nullable String ifNoneMatch) {
+        String etag = headers.getETag();
+        if (ifNoneMatch != null && etag != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String trimmed = tag.trim();
+                if (trimmed.equals("*") || opaqueTag(trimmed).equals(opaqueTag(etag))) {
+                    HttpHeaders notModified = new HttpHeaders();
+                    notModified.putAll(headers);
+                    notModified.remove(HttpHeaders.CONTENT_TYPE);
+                    return prepareGatewayResponse(HttpStatus.NOT_MODIFIED, notModified, null);
+                }
+            }
         }
+        return prepareGatewayResponse(HttpStatus.OK, headers, body);
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                         @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    responseBuilder.header(name, values.toArray(String[]::new));
+                }
+            });
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
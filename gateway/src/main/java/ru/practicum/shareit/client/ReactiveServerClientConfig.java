@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Reactor Netty connection pool shared by every {@link ReactiveBaseClient}. Takes the same
+ * {@code shareit-server.http.*} settings as the servlet client, plus {@code max-pending-acquires}: without
+ * it requests waiting for a connection queue without limit and only fail one by one on the acquire
+ * timeout. Pool gauges are published as {@code reactor.netty.connection.provider.*} metrics with the
+ * {@code name=shareit-server} tag.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(ServerClientProperties.class)
+public class ReactiveServerClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(ServerClientProperties properties) {
+        return ConnectionProvider.builder(ServerClientConfig.POOL_NAME)
+                .maxConnections(properties.getMaxPerRoute())
+                .pendingAcquireMaxCount(properties.getMaxPendingAcquires())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .evictInBackground(properties.getIdleTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector serverConnector(ConnectionProvider serverConnectionProvider,
+                                               ServerClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.getConnectTimeout().toMillis()))
+                .responseTimeout(properties.getReadTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
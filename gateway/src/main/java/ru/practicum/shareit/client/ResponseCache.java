@@ -0,0 +1,134 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.Getter;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of successful server responses, keyed by the full request URI and the
+ * {@code X-Sharer-User-Id} header. An entry is served without asking the server while it is younger
+ * than the TTL; after that it is kept for revalidation with {@code If-None-Match} until it is evicted.
+ * The bound counts responses, so a URI read by many users takes as many entries.
+ * <p>
+ * Each URI keeps its own generation, bumped by every invalidation of that URI. A response is stored
+ * with the generation its request started under and only served while the URI still has it, so a read
+ * racing a write can not put the old state back, and an invalidation drops the responses of every user
+ * without finding them: they are no longer served and age out of the bound. Generations are drawn from
+ * one sequence, so a URI that was evicted and cached again never repeats a generation an in-flight
+ * request still holds.
+ */
+public class ResponseCache {
+    private static final long NO_USER = Long.MIN_VALUE;
+
+    private final Cache<Key, Entry> entries;
+    private final Cache<URI, AtomicLong> generations;
+    private final long ttlNanos;
+    private final Ticker ticker;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ResponseCache(long maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Ticker.systemTicker());
+    }
+
+    ResponseCache(long maxEntries, Duration ttl, Ticker ticker) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .build();
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    @Nullable
+    public Entry get(URI uri, @Nullable Long userId) {
+        Entry entry = entries.getIfPresent(new Key(uri, user(userId)));
+        AtomicLong generation = generations.getIfPresent(uri);
+        return entry == null || generation == null || entry.generation != generation.get() ? null : entry;
+    }
+
+    public boolean isFresh(Entry entry) {
+        return ticker.read() - entry.storedAt < ttlNanos;
+    }
+
+    /**
+     * Returns the generation to pass to {@link #put} once the response of a request for the URI sent now
+     * arrives.
+     */
+    public long generation(URI uri) {
+        return generations.get(uri, key -> new AtomicLong(sequence.incrementAndGet())).get();
+    }
+
+    public void put(URI uri, @Nullable Long userId, HttpHeaders headers, byte[] body, long generation) {
+        AtomicLong current = generations.getIfPresent(uri);
+        if (current != null && current.get() == generation) {
+            entries.put(new Key(uri, user(userId)), new Entry(headers, body, headers.getETag(), ticker.read(),
+                    generation));
+        }
+    }
+
+    /**
+     * Stores the entry again as fresh after the server answered {@code 304 Not Modified}.
+     */
+    public void revalidated(URI uri, @Nullable Long userId, Entry entry, long generation) {
+        put(uri, userId, entry.headers, entry.body, generation);
+    }
+
+    /**
+     * Stops serving the entries of the URI for every user.
+     */
+    public void invalidate(URI uri) {
+        AtomicLong generation = generations.getIfPresent(uri);
+        if (generation != null) {
+            generation.set(sequence.incrementAndGet());
+        }
+    }
+
+    Cache<Key, Entry> getEntries() {
+        return entries;
+    }
+
+    Cache<URI, AtomicLong> getGenerations() {
+        return generations;
+    }
+
+    private static long user(@Nullable Long userId) {
+        return userId == null ? NO_USER : userId;
+    }
+
+    @Value
+    static class Key {
+        URI uri;
+        long userId;
+    }
+
+    @Getter
+    public static final class Entry {
+        private final HttpHeaders headers;
+        private final byte[] body;
+        @Nullable
+        private final String etag;
+        private final long storedAt;
+        private final long generation;
+
+        private Entry(HttpHeaders headers, byte[] body, @Nullable String etag, long storedAt, long generation) {
+            this.headers = headers;
+            this.body = body;
+            this.etag = etag;
+            this.storedAt = storedAt;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pooled, keep-alive HTTP client for every {@link BaseClient}. Pool gauges and the time
+ * spent waiting for a connection lease are published as {@code httpcomponents.httpclient.pool.*}
+ * metrics with the {@code httpclient=shareit-server} tag. Cached single-entity responses are shared
+ * by the clients, and their hit and miss counters are published as {@code cache.*} metrics.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ServerClientProperties.class)
+public class ServerClientConfig {
+    static final String POOL_NAME = "shareit-server";
+    static final String CACHE_NAME = "shareit-server-responses";
+
+    @Bean
+    public PoolingHttpClientConnectionManager serverConnectionManager(ServerClientProperties properties,
+                                                                       MeterRegistry registry) {
+        PoolingHttpClientConnectionManager manager = new TimedConnectionManager(Timer
+                .builder("httpcomponents.httpclient.pool.lease")
+                .description("Time spent waiting for a pooled connection to the shareit server")
+                .tag("httpclient", POOL_NAME)
+                .register(registry));
+        manager.setMaxTotal(properties.getMaxTotal());
+        manager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        new PoolingHttpClientConnectionManagerMetricsBinder(manager, POOL_NAME).bindTo(registry);
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                ServerClientProperties properties) {
+        long keepAlive = properties.getKeepAlive().toMillis();
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long fromServer = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return fromServer > 0 ? fromServer : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient,
+                                                         ServerClientProperties properties) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+        factory.setConnectTimeout(Math.toIntExact(properties.getConnectTimeout().toMillis()));
+        factory.setConnectionRequestTimeout(Math.toIntExact(properties.getConnectionRequestTimeout().toMillis()));
+        factory.setReadTimeout(Math.toIntExact(properties.getReadTimeout().toMillis()));
+        return factory;
+    }
+
+    @Bean
+    public ResponseCache serverResponseCache(ServerClientProperties properties, MeterRegistry registry) {
+        ResponseCache cache = new ResponseCache(properties.getCache().getMaxEntries(), properties.getCache().getTtl());
+        CaffeineCacheMetrics.monitor(registry, cache.getEntries(), CACHE_NAME);
+        return cache;
+    }
+
+    static class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+        private final Timer leaseTimer;
+
+        TimedConnectionManager(Timer leaseTimer) {
+            this.leaseTimer = leaseTimer;
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ConnectionRequest request = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit unit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return request.get(timeout, unit);
+                    } finally {
+                        leaseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the connection pool shared by all gateway clients of the shareit server.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ServerClientProperties {
+    /**
+     * Maximum number of open connections to the server.
+     */
+    int maxTotal = 200;
+    /**
+     * Maximum number of open connections per route; all clients share one route.
+     */
+    int maxPerRoute = 200;
+    Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * How long a request waits for a free pooled connection before failing.
+     */
+    Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    /**
+     * Maximum number of requests of the reactive client waiting for a free pooled connection; further
+     * requests fail at once instead of queuing without bound. The servlet client is bounded by its threads.
+     */
+    int maxPendingAcquires = 400;
+    Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * Keep-alive applied when the server response has no Keep-Alive header.
+     */
+    Duration keepAlive = Duration.ofSeconds(30);
+    /**
+     * Connections idle for longer than this are closed by a background evictor.
+     */
+    Duration idleTimeout = Duration.ofSeconds(20);
+    final Cache cache = new Cache();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Cache {
+        /**
+         * Maximum number of cached responses, counting one for every user that asked for a single-entity
+         * URI; zero disables the cache.
+         */
+        long maxEntries = 10000;
+        /**
+         * How long a cached response is served without revalidating it with the server.
+         */
+        Duration ttl = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.util.Marker;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Row handling shared by the servlet and reactive bulk item imports.
+ */
+final class ItemBulk {
+    static final int CHUNK_SIZE = 500;
+    static final TypeReference<List<Map<String, Object>>> RESULTS = new TypeReference<>() {
+    };
+    static final Comparator<Map<String, Object>> BY_INDEX = Comparator.comparingInt(r -> (Integer) r.get("index"));
+
+    private ItemBulk() {
+    }
+
+    static Map<String, Object> rejected(int index, String error) {
+        return Map.of("index", index, "error", error);
+    }
+
+    static void rejectAll(List<Integer> indexes, String error, List<Map<String, Object>> results) {
+        for (int index : indexes) {
+            results.add(rejected(index, error));
+        }
+    }
+
+    static boolean anySaved(List<Map<String, Object>> results) {
+        return results.stream().anyMatch(result -> result.containsKey("id"));
+    }
+
+    /**
+     * Returns the {@code error} the server answered a chunk with, or its status when the body has none.
+     */
+    static String serverError(ObjectMapper objectMapper, ResponseEntity<Object> response) {
+        if (response.getBody() instanceof byte[]) {
+            try {
+                Object error = objectMapper.readValue((byte[]) response.getBody(), Map.class).get("error");
+                if (error != null) {
+                    return error.toString();
+                }
+            } catch (IOException e) {
+                // not an error object, fall back to the status
+            }
+        }
+        return "server responded with " + response.getStatusCodeValue();
+    }
+
+    /**
+     * Returns the {@link Marker.OnCreate} violations of the row, or null when the row is valid.
+     */
+    @Nullable
+    static String validate(Validator validator, ItemDto itemDto) {
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDto, Marker.OnCreate.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(joining(", "));
+    }
+}
@@ -2,28 +2,37 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static java.lang.String.format;
 
 @Service
+@Profile("!reactive")
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory serverRequestFactory,
+                      ResponseCache serverResponseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                serverResponseCache
         );
     }
 
@@ -31,16 +40,28 @@ public class ItemClient extends BaseClient {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> saveAll(List<ItemDto> itemDtos, long userId) {
+        return post("/bulk", userId, itemDtos);
+    }
+
     public ResponseEntity<Object> saveComment(CommentDto commentDto, long itemId, long userId) {
-        return post(format("/%d/comment", itemId), userId, commentDto);
+        ResponseEntity<Object> response = post(format("/%d/comment", itemId), userId, commentDto);
+        invalidate(format("/%d", itemId));
+        return response;
     }
 
     public ResponseEntity<Object> update(ItemDto itemDto, long id, long userId) {
-        return patch(format("/%d", id), userId, itemDto);
+        ResponseEntity<Object> response = patch(format("/%d", id), userId, itemDto);
+        invalidate(format("/%d", id));
+        return response;
+    }
+
+    public ResponseEntity<Object> findById(long id, long userId, @Nullable String ifNoneMatch) {
+        return getCached(format("/%d", id), userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> findById(long id, long userId) {
-        return get(format("/%d", id), userId);
+    public ResponseEntity<Object> findAvailability(long id, long userId, LocalDateTime from, LocalDateTime to) {
+        return get(format("/%d/availability?from={from}&to={to}", id), userId, Map.of("from", from, "to", to));
     }
 
     public ResponseEntity<Object> findAll(long userId, int from, int size) {
@@ -1,21 +1,39 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.util.Marker;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Validator;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Validated
 public class ItemController {
     private final ItemClient client;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @PostMapping()
     public ResponseEntity<Object> save(@RequestBody @Validated(Marker.OnCreate.class) ItemDto itemDto,
@@ -23,6 +41,59 @@ public class ItemController {
         return client.save(itemDto, userId);
     }
 
+    /**
+     * Streams a JSON array or NDJSON body, validates every row with the {@link Marker.OnCreate} rules
+     * and forwards valid rows to the server in chunks. Returns one result per row, ordered by index:
+     * the saved item id or the reason the row was rejected. A syntax error stops the import.
+     * <p>
+     * The import is not atomic. Once the server fails a chunk, no more chunks are sent and the rows of that
+     * chunk and every later valid row are rejected with the server's error, next to the rows saved before.
+     * Only when nothing was saved yet is the server's response returned as is.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> saveAll(HttpServletRequest request,
+                                          @RequestHeader(name = "X-Sharer-User-Id") long userId) throws IOException {
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<ItemDto> chunk = new ArrayList<>(ItemBulk.CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(ItemBulk.CHUNK_SIZE);
+        ResponseEntity<Object> failure = null;
+        try (MappingIterator<ItemDto> items = objectMapper
+                .readerFor(ItemDto.class)
+                .readValues(request.getInputStream())) {
+            for (int index = 0; ; index++) {
+                ItemDto itemDto;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    itemDto = items.nextValue();
+                } catch (JsonMappingException e) {
+                    results.add(ItemBulk.rejected(index, e.getOriginalMessage()));
+                    continue;
+                } catch (IOException e) {
+                    results.add(ItemBulk.rejected(index, e.getMessage()));
+                    break;
+                }
+                String violations = ItemBulk.validate(validator, itemDto);
+                if (violations != null) {
+                    results.add(ItemBulk.rejected(index, violations));
+                    continue;
+                }
+                chunk.add(itemDto);
+                chunkIndexes.add(index);
+                if (chunk.size() == ItemBulk.CHUNK_SIZE) {
+                    failure = saveChunk(chunk, chunkIndexes, userId, results, failure);
+                }
+            }
+        }
+        failure = saveChunk(chunk, chunkIndexes, userId, results, failure);
+        if (failure != null && !ItemBulk.anySaved(results)) {
+            return failure;
+        }
+        results.sort(ItemBulk.BY_INDEX);
+        return ResponseEntity.ok(results);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> saveComment(@RequestBody @Validated() CommentDto commentDto,
                                               @PathVariable long itemId,
@@ -39,8 +110,23 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> findById(@PathVariable(name = "itemId") long id,
-                                           @RequestHeader(name = "X-Sharer-User-Id") long userId) {
-        return client.findById(id, userId);
+                                           @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                           @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+                                           String ifNoneMatch) {
+        return client.findById(id, userId, ifNoneMatch);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> findAvailability(@PathVariable(name = "itemId") long id,
+                                                   @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must be before to"));
+        }
+        return client.findAvailability(id, userId, from, to);
     }
 
     @GetMapping()
@@ -57,4 +143,34 @@ public class ItemController {
                                          @RequestParam(defaultValue = "20") @Positive int size) {
         return client.search(userId, text, from, size);
     }
+
+    /**
+     * Forwards the chunk unless an earlier one failed and returns the first failed response, or null.
+     */
+    @Nullable
+    private ResponseEntity<Object> saveChunk(List<ItemDto> chunk, List<Integer> chunkIndexes, long userId,
+                                             List<Map<String, Object>> results,
+                                             @Nullable ResponseEntity<Object> failure) throws IOException {
+        if (chunk.isEmpty()) {
+            return failure;
+        }
+        if (failure == null) {
+            ResponseEntity<Object> response = client.saveAll(List.copyOf(chunk), userId);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                for (Map<String, Object> result : objectMapper.readValue((byte[]) response.getBody(),
+                        ItemBulk.RESULTS)) {
+                    result.put("index", chunkIndexes.get((Integer) result.get("index")));
+                    results.add(result);
+                }
+            } else {
+                failure = response;
+            }
+        }
+        if (failure != null) {
+            ItemBulk.rejectAll(chunkIndexes, ItemBulk.serverError(objectMapper, failure), results);
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+        return failure;
+    }
 }
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector serverConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> save(ItemDto itemDto, long userId) {
+        return post("", userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> saveAll(List<ItemDto> itemDtos, long userId) {
+        return post("/bulk", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> saveComment(CommentDto commentDto, long itemId, long userId) {
+        return post(format("/%d/comment", itemId), userId, commentDto);
+    }
+
+    public Mono<ResponseEntity<Object>> update(ItemDto itemDto, long id, long userId) {
+        return patch(format("/%d", id), userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findById(long id, long userId) {
+        return get(format("/%d", id), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAvailability(long id, long userId, LocalDateTime from, LocalDateTime to) {
+        return get(format("/%d/availability?from={from}&to={to}", id), userId, Map.of("from", from, "to", to));
+    }
+
+    public Mono<ResponseEntity<Object>> findAll(long userId, int from, int size) {
+        return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<Object>> search(long userId, String text, int from, int size) {
+        if (text.isBlank()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList()));
+        }
+        return get("/search?text={text}&from={from}&size={size}", userId, Map.of("text", text, "from", from, "size", size));
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import ru.practicum.shareit.util.Marker;
+
+import javax.validation.Validator;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Controller
+@Profile("reactive")
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveItemController {
+    private final ReactiveItemClient client;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @PostMapping()
+    public Mono<ResponseEntity<Object>> save(@RequestBody @Validated(Marker.OnCreate.class) ItemDto itemDto,
+                                             @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.save(itemDto, userId);
+    }
+
+    /**
+     * Decodes a JSON array or NDJSON body element by element, validates every row with the
+     * {@link Marker.OnCreate} rules and forwards valid rows to the server in chunks, one chunk at a time.
+     * Unlike the servlet import, a row that can not be decoded fails the request with 400. A chunk the
+     * server fails is handled like in the servlet import: it and every later valid row are rejected with
+     * the server's error, and the server's response is returned as is only when nothing was saved yet.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Object>> saveAll(@RequestBody Flux<ItemDto> items,
+                                                @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return Mono.defer(() -> {
+            AtomicReference<ResponseEntity<Object>> failure = new AtomicReference<>();
+            return items
+                    .index()
+                    .buffer(ItemBulk.CHUNK_SIZE)
+                    .concatMap(rows -> saveChunk(rows, userId, failure))
+                    .collectList()
+                    .map(chunks -> mergeChunks(chunks, failure.get()));
+        });
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> saveComment(@RequestBody @Validated() CommentDto commentDto,
+                                                    @PathVariable long itemId,
+                                                    @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.saveComment(commentDto, itemId, userId);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> update(@RequestBody ItemDto itemDto,
+                                               @PathVariable(name = "itemId") long id,
+                                               @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.update(itemDto, id, userId);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> findById(@PathVariable(name = "itemId") long id,
+                                                 @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.findById(id, userId);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> findAvailability(@PathVariable(name = "itemId") long id,
+                                                         @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                         LocalDateTime from,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                         LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "from must be before to")));
+        }
+        return client.findAvailability(id, userId, from, to);
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<Object>> findAll(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                                @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                @RequestParam(defaultValue = "20") @Positive int size) {
+        return client.findAll(userId, from, size);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> search(@RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                               @RequestParam String text,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                               @RequestParam(defaultValue = "20") @Positive int size) {
+        return client.search(userId, text, from, size);
+    }
+
+    private Mono<List<Map<String, Object>>> saveChunk(List<Tuple2<Long, ItemDto>> rows, long userId,
+                                                       AtomicReference<ResponseEntity<Object>> failure) {
+        List<Map<String, Object>> results = new ArrayList<>(rows.size());
+        List<ItemDto> chunk = new ArrayList<>(rows.size());
+        List<Integer> chunkIndexes = new ArrayList<>(rows.size());
+        for (Tuple2<Long, ItemDto> row : rows) {
+            int index = Math.toIntExact(row.getT1());
+            String violations = ItemBulk.validate(validator, row.getT2());
+            if (violations != null) {
+                results.add(ItemBulk.rejected(index, violations));
+            } else {
+                chunk.add(row.getT2());
+                chunkIndexes.add(index);
+            }
+        }
+        if (chunk.isEmpty()) {
+            return Mono.just(results);
+        }
+        if (failure.get() != null) {
+            ItemBulk.rejectAll(chunkIndexes, ItemBulk.serverError(objectMapper, failure.get()), results);
+            return Mono.just(results);
+        }
+        return client.saveAll(chunk, userId).map(response -> {
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                failure.set(response);
+                ItemBulk.rejectAll(chunkIndexes, ItemBulk.serverError(objectMapper, response), results);
+                return results;
+            }
+            for (Map<String, Object> result : readResults((byte[]) response.getBody())) {
+                result.put("index", chunkIndexes.get((Integer) result.get("index")));
+                results.add(result);
+            }
+            return results;
+        });
+    }
+
+    private List<Map<String, Object>> readResults(byte[] body) {
+        try {
+            return objectMapper.readValue(body, ItemBulk.RESULTS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ResponseEntity<Object> mergeChunks(List<List<Map<String, Object>>> chunks,
+                                                      @Nullable ResponseEntity<Object> failure) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (List<Map<String, Object>> chunk : chunks) {
+            results.addAll(chunk);
+        }
+        if (failure != null && !ItemBulk.anySaved(results)) {
+            return failure;
+        }
+        results.sort(ItemBulk.BY_INDEX);
+        return ResponseEntity.ok(results);
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,6 +12,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 @Validated
@@ -24,8 +27,10 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> findById(@PathVariable(name = "requestId") long id,
-                                           @RequestHeader(name = "X-Sharer-User-Id") long userId) {
-        return client.findById(id, userId);
+                                           @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                           @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+                                           String ifNoneMatch) {
+        return client.findById(id, userId, ifNoneMatch);
     }
 
     @GetMapping()
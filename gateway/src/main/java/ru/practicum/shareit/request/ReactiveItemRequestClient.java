@@ -0,0 +1,46 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.Map;
+
+import static java.lang.String.format;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                     ClientHttpConnector serverConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> save(ItemRequestDto itemRequestDto, long userId) {
+        return post("", userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findById(long id, long userId) {
+        return get(format("/%d", id), userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllByOwner(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAll(int from, int size, long userId) {
+        return get("/all?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+    }
+}
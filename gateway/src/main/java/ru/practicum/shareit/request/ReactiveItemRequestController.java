@@ -0,0 +1,45 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveItemRequestController {
+    private final ReactiveItemRequestClient client;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> save(@RequestBody @Validated ItemRequestDto itemRequestDto,
+                                             @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.save(itemRequestDto, userId);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> findById(@PathVariable(name = "requestId") long id,
+                                                 @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.findById(id, userId);
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<Object>> findAll(@RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.findAllByOwner(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> findAll(@RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                @RequestParam(defaultValue = "20") @Positive int size,
+                                                @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+        return client.findAll(from, size, userId);
+    }
+}
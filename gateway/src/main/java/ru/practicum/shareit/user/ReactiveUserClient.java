@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import static java.lang.String.format;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector serverConnector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> save(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> update(UserDto userDto, long userId) {
+        return patch(format("/%d", userId), userId, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findAll() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Object>> findById(long id) {
+        return get(format("/%d", id));
+    }
+
+    public Mono<ResponseEntity<Object>> deleteById(long id) {
+        return delete(format("/%d", id), id);
+    }
+}
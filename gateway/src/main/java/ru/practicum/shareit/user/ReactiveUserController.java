@@ -0,0 +1,44 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.util.Marker;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+    private final ReactiveUserClient client;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> save(@RequestBody @Validated(Marker.OnCreate.class) UserDto userDto) {
+        return client.save(userDto);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> update(@RequestBody @Validated(Marker.OnUpdate.class) UserDto userDto,
+                                               @PathVariable(name = "userId") long id) {
+        return client.update(userDto, id);
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<Object>> findAll() {
+        return client.findAll();
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> findById(@PathVariable(name = "userId") long id) {
+        return client.findById(id);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> delete(@PathVariable(name = "userId") long id) {
+        return client.deleteById(id);
+    }
+}
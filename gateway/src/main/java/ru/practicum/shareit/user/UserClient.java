@@ -2,24 +2,31 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 
 import static java.lang.String.format;
 
 @Service
+@Profile("!reactive")
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory serverRequestFactory,
+                      ResponseCache serverResponseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                serverResponseCache
         );
     }
 
@@ -28,18 +35,22 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> update(UserDto userDto, long userId) {
-        return patch(format("/%d", userId), userId, userDto);
+        ResponseEntity<Object> response = patch(format("/%d", userId), userId, userDto);
+        invalidate(format("/%d", userId));
+        return response;
     }
 
     public ResponseEntity<Object> findAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> findById(long id) {
-        return get(format("/%d", id));
+    public ResponseEntity<Object> findById(long id, @Nullable String ifNoneMatch) {
+        return getCached(format("/%d", id), null, ifNoneMatch);
     }
 
     public ResponseEntity<Object> deleteById(long id) {
-        return delete(format("/%d", id), id);
+        ResponseEntity<Object> response = delete(format("/%d", id), id);
+        invalidate(format("/%d", id));
+        return response;
     }
 }
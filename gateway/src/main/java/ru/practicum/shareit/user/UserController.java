@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -8,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.util.Marker;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 public class UserController {
@@ -30,8 +33,10 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> findById(@PathVariable(name = "userId") long id) {
-        return client.findById(id);
+    public ResponseEntity<Object> findById(@PathVariable(name = "userId") long id,
+                                           @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+                                           String ifNoneMatch) {
+        return client.findById(id, ifNoneMatch);
     }
 
     @DeleteMapping("/{userId}")
@@ -155,7 +155,7 @@ class BookingControllerTest {
     @SneakyThrows
     @Test
     void findByUserId_whenAllArgumentsIsNotNullAndCorrect_thenReturnStatusIsOk() {
-        when(client.findAllByUserId(anyLong(), anyString(), anyInt(), anyInt()))
+        when(client.findAllByUserId(anyLong(), anyString(), anyInt(), anyInt(), isNull()))
                 .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/bookings")
@@ -166,13 +166,31 @@ class BookingControllerTest {
                         .param("size", "1"))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findAllByUserId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(client, times(1)).findAllByUserId(anyLong(), anyString(), anyInt(), anyInt(), isNull());
+    }
+
+    @SneakyThrows
+    @Test
+    void findByUserId_whenAfterIsNotNull_thenPassCursorToServer() {
+        when(client.findAllByUserId(anyLong(), anyString(), anyInt(), anyInt(), eq("2023-01-01T10:00:00,5")))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mockMvc.perform(get("/bookings")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("after", "2023-01-01T10:00:00,5")
+                        .param("size", "1"))
+                .andExpect(status().isOk());
+
+        verify(client, times(1)).findAllByUserId(anyLong(), anyString(), anyInt(), anyInt(),
+                eq("2023-01-01T10:00:00,5"));
     }
 
     @SneakyThrows
     @Test
     void findByUserId_whenStateIsNull_thenReturnStatusIsOk() {
-        when(client.findAllByUserId(anyLong(), eq("ALL"), anyInt(), anyInt()))
+        when(client.findAllByUserId(anyLong(), eq("ALL"), anyInt(), anyInt(), isNull()))
                 .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/bookings")
@@ -183,13 +201,13 @@ class BookingControllerTest {
                         .param("size", "1"))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findAllByUserId(anyLong(), eq("ALL"), anyInt(), anyInt());
+        verify(client, times(1)).findAllByUserId(anyLong(), eq("ALL"), anyInt(), anyInt(), isNull());
     }
 
     @SneakyThrows
     @Test
     void findByUserId_whenFromIsNull_thenReturnStatusIsOk() {
-        when(client.findAllByUserId(anyLong(), anyString(), eq(0), anyInt()))
+        when(client.findAllByUserId(anyLong(), anyString(), eq(0), anyInt(), isNull()))
                 .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/bookings")
@@ -200,13 +218,13 @@ class BookingControllerTest {
                         .param("size", "1"))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findAllByUserId(anyLong(), anyString(), eq(0), anyInt());
+        verify(client, times(1)).findAllByUserId(anyLong(), anyString(), eq(0), anyInt(), isNull());
     }
 
     @SneakyThrows
     @Test
     void findByUserId_whenSizeIsNull_thenReturnStatusIsOk() {
-        when(client.findAllByUserId(anyLong(), anyString(), anyInt(), eq(20)))
+        when(client.findAllByUserId(anyLong(), anyString(), anyInt(), eq(20), isNull()))
                 .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/bookings")
@@ -217,7 +235,7 @@ class BookingControllerTest {
                         .param("from", "0"))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findAllByUserId(anyLong(), anyString(), anyInt(), eq(20));
+        verify(client, times(1)).findAllByUserId(anyLong(), anyString(), anyInt(), eq(20), isNull());
     }
 
     @SneakyThrows
@@ -232,7 +250,7 @@ class BookingControllerTest {
                         .param("size", "1"))
                 .andExpect(status().isInternalServerError());
 
-        verify(client, never()).findAllByUserId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(client, never()).findAllByUserId(anyLong(), anyString(), anyInt(), anyInt(), isNull());
     }
 
     @SneakyThrows
@@ -247,13 +265,13 @@ class BookingControllerTest {
                         .param("size", "-1"))
                 .andExpect(status().isInternalServerError());
 
-        verify(client, never()).findAllByUserId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(client, never()).findAllByUserId(anyLong(), anyString(), anyInt(), anyInt(), isNull());
     }
 
     @SneakyThrows
     @Test
     void findByOwnerId_whenAllArgumentsIsNotNullAndCorrect_thenReturnStatusIsOk() {
-        when(client.findAllByOwnerId(anyLong(), eq("ALL"), anyInt(), anyInt()))
+        when(client.findAllByOwnerId(anyLong(), eq("ALL"), anyInt(), anyInt(), isNull()))
                 .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/bookings/owner")
@@ -265,13 +283,13 @@ class BookingControllerTest {
                         .param("size", "1"))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findAllByOwnerId(anyLong(), eq("ALL"), anyInt(), anyInt());
+        verify(client, times(1)).findAllByOwnerId(anyLong(), eq("ALL"), anyInt(), anyInt(), isNull());
     }
 
     @SneakyThrows
     @Test
     void findByOwnerId_whenStateIsNull_thenReturnStatusIsOk() {
-        when(client.findAllByOwnerId(anyLong(), eq("ALL"), anyInt(), anyInt()))
+        when(client.findAllByOwnerId(anyLong(), eq("ALL"), anyInt(), anyInt(), isNull()))
                 .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/bookings/owner")
@@ -282,13 +300,13 @@ class BookingControllerTest {
                         .param("size", "1"))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findAllByOwnerId(anyLong(), eq("ALL"), anyInt(), anyInt());
+        verify(client, times(1)).findAllByOwnerId(anyLong(), eq("ALL"), anyInt(), anyInt(), isNull());
     }
 
     @SneakyThrows
     @Test
     void findByOwnerId_whenFromIsNull_thenReturnStatusIsOk() {
-        when(client.findAllByOwnerId(anyLong(), anyString(), eq(0), anyInt()))
+        when(client.findAllByOwnerId(anyLong(), anyString(), eq(0), anyInt(), isNull()))
                 .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/bookings/owner")
@@ -299,13 +317,13 @@ class BookingControllerTest {
                         .param("size", "1"))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findAllByOwnerId(anyLong(), anyString(), eq(0), anyInt());
+        verify(client, times(1)).findAllByOwnerId(anyLong(), anyString(), eq(0), anyInt(), isNull());
     }
 
     @SneakyThrows
     @Test
     void findByOwnerId_whenSizeIsNull_thenReturnStatusIsOk() {
-        when(client.findAllByOwnerId(anyLong(), anyString(), anyInt(), eq(20)))
+        when(client.findAllByOwnerId(anyLong(), anyString(), anyInt(), eq(20), isNull()))
                 .thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/bookings/owner")
@@ -316,7 +334,7 @@ class BookingControllerTest {
                         .param("from", "0"))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findAllByOwnerId(anyLong(), anyString(), anyInt(), eq(20));
+        verify(client, times(1)).findAllByOwnerId(anyLong(), anyString(), anyInt(), eq(20), isNull());
     }
 
     @SneakyThrows
@@ -331,7 +349,7 @@ class BookingControllerTest {
                         .param("size", "1"))
                 .andExpect(status().isInternalServerError());
 
-        verify(client, never()).findAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(client, never()).findAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), isNull());
     }
 
     @SneakyThrows
@@ -346,6 +364,6 @@ class BookingControllerTest {
                         .param("size", "-1"))
                 .andExpect(status().isInternalServerError());
 
-        verify(client, never()).findAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt());
+        verify(client, never()).findAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), isNull());
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(controllers = ReactiveBookingController.class)
+class ReactiveBookingControllerTest {
+    @Autowired
+    private WebTestClient webClient;
+
+    @MockBean
+    private ReactiveBookingClient client;
+
+    private BookingDto request;
+
+    @BeforeEach
+    void beforeEach() {
+        request = BookingDto
+                .builder()
+                .id(1L)
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+    }
+
+    @Test
+    void save_whenBookingDtoIsValid_thenReturnStatusIsOk() {
+        when(client.save(any(BookingDto.class), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.post().uri("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).save(any(BookingDto.class), eq(1L));
+    }
+
+    @Test
+    void save_whenEndAfterStart_thenReturnStatusIsBadRequest() {
+        request.setStart(LocalDateTime.now().plusDays(2));
+        request.setEnd(LocalDateTime.now().plusDays(1));
+
+        webClient.post().uri("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(client, never()).save(any(BookingDto.class), anyLong());
+    }
+
+    @Test
+    void update() {
+        when(client.update(1L, 1L, true)).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.patch().uri("/bookings/{bookingId}?approved=true", 1L)
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).update(1L, 1L, true);
+    }
+
+    @Test
+    void findByUserId_whenAfterIsNotNull_thenPassCursorToServer() {
+        when(client.findAllByUserId(1L, "ALL", 0, 20, "2026-10-18T10:00:00,5"))
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.get().uri("/bookings?after={after}", "2026-10-18T10:00:00,5")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).findAllByUserId(1L, "ALL", 0, 20, "2026-10-18T10:00:00,5");
+    }
+
+    @Test
+    void findByOwnerId_whenFromIsNotPositive_thenReturnStatusIsInternalServerError() {
+        webClient.get().uri("/bookings/owner?from=-1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        verify(client, never()).findAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any());
+    }
+}
@@ -0,0 +1,278 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private static final int BOOKINGS = 1000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+    private static final Duration TTL = Duration.ofSeconds(2);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+    private BaseClient client;
+    private final AtomicLong now = new AtomicLong();
+    private BaseClient cachingClient;
+
+    @BeforeEach
+    void beforeEach() {
+        rest = new RestTemplate();
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest);
+        cachingClient = new BaseClient(rest, new ResponseCache(100, TTL, now::get));
+    }
+
+    @Test
+    void get_whenServerRespondsOk_thenPassBodyAndHeadersThrough() {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Total", "1");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo("/bookings"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/bookings", 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("1", response.getHeaders().getFirst("X-Total"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void get_whenServerRespondsWithError_thenPassStatusAndBodyThrough() {
+        byte[] body = "{\"error\":\"Unknown state: UNSUPPORTED_STATUS\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("/bookings"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        ResponseEntity<Object> response = client.get("/bookings", 1L);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void patch_whenServerRespondsWithoutBody_thenReturnNoBody() {
+        server.expect(requestTo("/bookings/1?approved=true"))
+                .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = client.patch("/bookings/1?approved=true", 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void getCached_whenEntryIsFresh_thenDoNotCallServer() {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        server.expect(ExpectedCount.once(), requestTo("/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        cachingClient.getCached("/items/1", 1L, null);
+        ResponseEntity<Object> response = cachingClient.getCached("/items/1", 1L, null);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void getCached_whenUserDiffers_thenCallServer() {
+        server.expect(requestTo("/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\":1,\"lastBooking\":{}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        cachingClient.getCached("/items/1", 1L, null);
+        ResponseEntity<Object> response = cachingClient.getCached("/items/1", 2L, null);
+
+        server.verify();
+        assertArrayEquals("{\"id\":1}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void getCached_whenEntryIsStaleAndNotModified_thenRevalidateWithEtag() {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"1\"");
+        server.expect(requestTo("/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo("/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+
+        cachingClient.getCached("/items/1", 1L, null);
+        now.addAndGet(TTL.toNanos());
+        ResponseEntity<Object> revalidated = cachingClient.getCached("/items/1", 1L, null);
+        ResponseEntity<Object> fresh = cachingClient.getCached("/items/1", 1L, null);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertArrayEquals(body, (byte[]) revalidated.getBody());
+        assertEquals("\"1\"", revalidated.getHeaders().getETag());
+        assertArrayEquals(body, (byte[]) fresh.getBody());
+    }
+
+    @Test
+    void getCached_whenClientTagMatchesCachedEntry_thenReturnNotModifiedWithoutBody() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"1\"");
+        server.expect(ExpectedCount.once(), requestTo("/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> first = cachingClient.getCached("/items/1", 1L, "W/\"1\"");
+        ResponseEntity<Object> second = cachingClient.getCached("/items/1", 1L, "\"0\", \"1\"");
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_MODIFIED, first.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+        assertEquals("\"1\"", second.getHeaders().getETag());
+        assertNull(second.getHeaders().getContentType());
+    }
+
+    @Test
+    void getCached_whenClientTagIsOutdated_thenReturnBody() {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"2\"");
+        server.expect(requestTo("/items/1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = cachingClient.getCached("/items/1", 1L, "\"1\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    void getCached_whenCacheIsDisabled_thenPassClientTagToServer() {
+        server.expect(requestTo("/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        ResponseEntity<Object> response = client.getCached("/items/1", 1L, "\"1\"");
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    void getCached_whenInvalidated_thenCallServer() {
+        server.expect(requestTo("/items/1"))
+                .andRespond(withSuccess("{\"name\":\"old\"}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("/items/1"))
+                .andRespond(withSuccess("{\"name\":\"new\"}", MediaType.APPLICATION_JSON));
+
+        cachingClient.getCached("/items/1", 1L, null);
+        cachingClient.invalidate("/items/1");
+        ResponseEntity<Object> response = cachingClient.getCached("/items/1", 1L, null);
+
+        server.verify();
+        assertArrayEquals("{\"name\":\"new\"}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void getCached_whenServerRespondsWithError_thenDoNotCache() {
+        server.expect(ExpectedCount.twice(), requestTo("/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        cachingClient.getCached("/items/1", 1L, null);
+        ResponseEntity<Object> response = cachingClient.getCached("/items/1", 1L, null);
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    /**
+     * Compares the old gateway path, which parsed the response into a map tree and serialized
+     * it again, with the byte pass-through on a list of a thousand bookings.
+     */
+    @SneakyThrows
+    @Test
+    void get_whenBookingListIsLarge_thenAllocateLessThanParsing() {
+        byte[] bookings = bookings();
+        server.expect(ExpectedCount.manyTimes(), requestTo("/bookings"))
+                .andRespond(withSuccess(bookings, MediaType.APPLICATION_JSON));
+
+        Supplier<byte[]> parsing = () -> {
+            try {
+                Object body = rest.exchange("/bookings", HttpMethod.GET, null, Object.class).getBody();
+                return objectMapper.writeValueAsBytes(body);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        Supplier<byte[]> passThrough = () -> (byte[]) client.get("/bookings", 1L).getBody();
+
+        assertEquals(objectMapper.readTree(parsing.get()), objectMapper.readTree(passThrough.get()));
+
+        long parsingBytes = allocatedPerCall(parsing);
+        long passThroughBytes = allocatedPerCall(passThrough);
+
+        assertTrue(passThroughBytes < parsingBytes,
+                "pass-through: " + passThroughBytes + " bytes, parsing: " + parsingBytes + " bytes per response");
+    }
+
+    @SneakyThrows
+    private byte[] bookings() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < BOOKINGS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"start\":\"2026-10-18T10:00:00\",\"end\":\"2026-10-19T10:00:00\",\"status\":\"APPROVED\"")
+                    .append(",\"booker\":{\"id\":2,\"name\":\"booker\"}")
+                    .append(",\"item\":{\"id\":").append(i).append(",\"name\":\"item").append(i).append("\"}}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long allocatedPerCall(Supplier<byte[]> call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveBaseClientTest {
+    private final AtomicReference<ClientRequest> sent = new AtomicReference<>();
+
+    private ReactiveBaseClient client(ClientResponse response) {
+        return new ReactiveBaseClient(WebClient.builder()
+                .baseUrl("http://localhost:9090/bookings")
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    return Mono.just(response);
+                })
+                .build());
+    }
+
+    @Test
+    void get_whenServerRespondsOk_thenPassBodyAndHeadersThrough() {
+        ClientResponse response = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .body("[{\"id\":1}]")
+                .build();
+
+        ResponseEntity<Object> result = client(response)
+                .get("?state={state}", 1L, Map.of("state", "ALL"))
+                .block();
+
+        assertEquals("http://localhost:9090/bookings?state=ALL", sent.get().url().toString());
+        assertEquals("1", sent.get().headers().getFirst("X-Sharer-User-Id"));
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertArrayEquals("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8), (byte[]) result.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, result.getHeaders().getContentType());
+        assertFalse(result.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void get_whenServerRespondsWithError_thenPassStatusAndBodyThrough() {
+        ClientResponse response = ClientResponse.create(HttpStatus.NOT_FOUND)
+                .body("not found")
+                .build();
+
+        ResponseEntity<Object> result = client(response).get("/1", 1L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+        assertArrayEquals("not found".getBytes(StandardCharsets.UTF_8), (byte[]) result.getBody());
+    }
+
+    @Test
+    void get_whenBodyExceedsCodecLimit_thenPassWholeBodyThrough() {
+        byte[] body = new byte[1024 * 1024];
+        Arrays.fill(body, (byte) 'a');
+        ClientResponse response = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOf(body, body.length / 2)),
+                        DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(body, body.length / 2,
+                                body.length))))
+                .build();
+
+        ResponseEntity<Object> result = client(response).get("", 1L).block();
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertArrayEquals(body, (byte[]) result.getBody());
+    }
+
+    @Test
+    void patch_whenServerRespondsWithoutBody_thenReturnNoBody() {
+        ResponseEntity<Object> result = client(ClientResponse.create(HttpStatus.OK).build())
+                .patch("/1?approved={approved}", 1L, Map.of("approved", true), null)
+                .block();
+
+        assertEquals("http://localhost:9090/bookings/1?approved=true", sent.get().url().toString());
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertNull(result.getBody());
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private static final Duration TTL = Duration.ofSeconds(2);
+    private static final URI ITEM = URI.create("/items/1");
+    private static final URI OTHER_ITEM = URI.create("/items/2");
+
+    private final AtomicLong now = new AtomicLong();
+    private final ResponseCache cache = new ResponseCache(100, TTL, now::get);
+
+    @Test
+    void isFresh_whenTtlPassed_thenReturnFalse() {
+        cache.put(ITEM, 1L, etag("\"1\""), new byte[]{1}, cache.generation(ITEM));
+        ResponseCache.Entry entry = cache.get(ITEM, 1L);
+
+        assertNotNull(entry);
+        assertEquals("\"1\"", entry.getEtag());
+        assertTrue(cache.isFresh(entry));
+        now.addAndGet(TTL.toNanos());
+        assertFalse(cache.isFresh(entry));
+    }
+
+    @Test
+    void invalidate_whenManyUsersCached_thenDropAll() {
+        cache.put(ITEM, 1L, new HttpHeaders(), new byte[]{1}, cache.generation(ITEM));
+        cache.put(ITEM, 2L, new HttpHeaders(), new byte[]{2}, cache.generation(ITEM));
+
+        cache.invalidate(ITEM);
+
+        assertNull(cache.get(ITEM, 1L));
+        assertNull(cache.get(ITEM, 2L));
+    }
+
+    @Test
+    void put_whenInvalidatedWhileInFlight_thenDoNotStore() {
+        long generation = cache.generation(ITEM);
+
+        cache.invalidate(ITEM);
+        cache.put(ITEM, 1L, new HttpHeaders(), new byte[]{1}, generation);
+
+        assertNull(cache.get(ITEM, 1L));
+    }
+
+    @Test
+    void put_whenOtherUriInvalidatedWhileInFlight_thenStore() {
+        long generation = cache.generation(ITEM);
+
+        cache.invalidate(OTHER_ITEM);
+        cache.put(ITEM, 1L, new HttpHeaders(), new byte[]{1}, generation);
+
+        assertNotNull(cache.get(ITEM, 1L));
+    }
+
+    @Test
+    void put_whenUriEvictedAndInvalidatedWhileInFlight_thenDoNotStore() {
+        long generation = cache.generation(ITEM);
+
+        cache.getGenerations().invalidate(ITEM);
+        cache.generation(ITEM);
+        cache.put(ITEM, 1L, new HttpHeaders(), new byte[]{1}, generation);
+
+        assertNull(cache.get(ITEM, 1L));
+    }
+
+    @Test
+    void put_whenManyUsersOfOneUri_thenBoundCountsEveryResponse() {
+        ResponseCache small = new ResponseCache(2, TTL, now::get);
+        for (long user = 1; user <= 3; user++) {
+            small.put(ITEM, user, new HttpHeaders(), new byte[]{1}, small.generation(ITEM));
+        }
+
+        small.getEntries().cleanUp();
+
+        assertEquals(2, small.getEntries().estimatedSize());
+    }
+
+    @Test
+    void put_whenNoUser_thenCachedSeparately() {
+        cache.put(ITEM, null, new HttpHeaders(), new byte[]{0}, cache.generation(ITEM));
+
+        assertNotNull(cache.get(ITEM, null));
+        assertNull(cache.get(ITEM, 1L));
+    }
+
+    private static HttpHeaders etag(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        return headers;
+    }
+}
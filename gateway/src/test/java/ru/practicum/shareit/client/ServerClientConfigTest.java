@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ServerClientConfigTest {
+    private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("localhost", 9090));
+
+    private final ServerClientConfig config = new ServerClientConfig();
+    private final ServerClientProperties properties = new ServerClientProperties();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private PoolingHttpClientConnectionManager manager;
+
+    @BeforeEach
+    void beforeEach() {
+        properties.setMaxTotal(10);
+        properties.setMaxPerRoute(5);
+        manager = config.serverConnectionManager(properties, registry);
+    }
+
+    @AfterEach
+    void afterEach() {
+        manager.close();
+    }
+
+    @Test
+    void serverConnectionManager_whenCreated_thenUseConfiguredLimits() {
+        assertEquals(10, manager.getMaxTotal());
+        assertEquals(5, manager.getDefaultMaxPerRoute());
+        assertEquals(10, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", ServerClientConfig.POOL_NAME)
+                .gauge()
+                .value());
+    }
+
+    @SneakyThrows
+    @Test
+    void requestConnection_whenLeased_thenRecordLeaseTimeAndLeasedGauge() {
+        HttpClientConnection connection = manager.requestConnection(ROUTE, null).get(1, TimeUnit.SECONDS);
+
+        assertEquals(1, registry.get("httpcomponents.httpclient.pool.lease").timer().count());
+        assertEquals(1, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased")
+                .gauge()
+                .value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
+
+        manager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+    }
+}
@@ -7,13 +7,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -59,6 +68,88 @@ class ItemControllerTest {
         verify(client, times(1)).save(eq(itemDto), anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    void saveAll_whenSomeRowsAreInvalid_thenForwardValidRowsAndReturnResultPerRow() {
+        ItemDto invalid = ItemDto.builder().name("name").description("   ").available(true).build();
+        when(client.saveAll(anyList(), anyLong())).thenReturn(ResponseEntity.<Object>ok(objectMapper.writeValueAsBytes(List.of(
+                Map.of("index", 0, "id", 10),
+                Map.of("index", 1, "id", 11)))));
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(itemDto) + "\n"
+                                + objectMapper.writeValueAsString(invalid) + "\n"
+                                + "{\"name\":\"name\",\"description\":\"description\",\"available\":\"maybe\"}\n"
+                                + objectMapper.writeValueAsString(itemDto) + "\n")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].error").value("description: must not be blank"))
+                .andExpect(jsonPath("$[2].error").exists())
+                .andExpect(jsonPath("$[3].index").value(3))
+                .andExpect(jsonPath("$[3].id").value(11));
+
+        verify(client, times(1)).saveAll(eq(List.of(itemDto, itemDto)), eq(1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void saveAll_whenJsonIsMalformed_thenStopAtBrokenRow() {
+        when(client.saveAll(anyList(), anyLong())).thenReturn(ResponseEntity.<Object>ok(objectMapper.writeValueAsBytes(List.of(
+                Map.of("index", 0, "id", 10)))));
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType("application/json")
+                        .content("[" + objectMapper.writeValueAsString(itemDto) + ", {\"name\": ]")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].error").exists());
+
+        verify(client, times(1)).saveAll(eq(List.of(itemDto)), eq(1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void saveAll_whenLaterChunkFails_thenKeepSavedRowsAndRejectTheRest() {
+        List<Map<String, Object>> saved = IntStream.range(0, ItemBulk.CHUNK_SIZE)
+                .mapToObj(i -> Map.<String, Object>of("index", i, "id", i + 1))
+                .collect(Collectors.toList());
+        when(client.saveAll(anyList(), anyLong()))
+                .thenReturn(ResponseEntity.<Object>ok(objectMapper.writeValueAsBytes(saved)))
+                .thenReturn(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(objectMapper.writeValueAsBytes(Map.of("error", "database is down"))));
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(Collections.nCopies(ItemBulk.CHUNK_SIZE + 2, itemDto)))
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ItemBulk.CHUNK_SIZE + 2))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[" + (ItemBulk.CHUNK_SIZE - 1) + "].id").value(ItemBulk.CHUNK_SIZE))
+                .andExpect(jsonPath("$[" + ItemBulk.CHUNK_SIZE + "].error").value("database is down"))
+                .andExpect(jsonPath("$[" + (ItemBulk.CHUNK_SIZE + 1) + "].error").value("database is down"));
+
+        verify(client, times(2)).saveAll(anyList(), eq(1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void saveAll_whenServerRejectsUser_thenReturnServerStatus() {
+        when(client.saveAll(anyList(), anyLong())).thenReturn(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(List.of(itemDto)))
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isNotFound());
+    }
+
     @SneakyThrows
     @Test
     void save_whenNameIsNull_thenReturnStatusIsBadRequest() {
@@ -188,14 +279,42 @@ class ItemControllerTest {
     @SneakyThrows
     @Test
     void findById() {
-        when(client.findById(anyLong(), anyLong())).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+        when(client.findById(anyLong(), anyLong(), eq("\"1\""))).thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/items/{itemId}", 1L)
                         .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk());
+
+        verify(client, times(1)).findById(anyLong(), anyLong(), eq("\"1\""));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAvailability_whenPeriodIsCorrect_thenReturnIsOk() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(client.findAvailability(1L, 1L, from, from.plusDays(7))).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-08T10:00:00")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findById(anyLong(), anyLong());
+        verify(client, times(1)).findAvailability(1L, 1L, from, from.plusDays(7));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAvailability_whenFromIsNotBeforeTo_thenReturnStatusIsBadRequest() {
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", "2030-01-08T10:00:00")
+                        .param("to", "2030-01-01T10:00:00")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        verify(client, never()).findAvailability(anyLong(), anyLong(), any(), any());
     }
 
     @SneakyThrows
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(controllers = ReactiveItemController.class)
+class ReactiveItemControllerTest {
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private WebTestClient webClient;
+
+    @MockBean
+    private ReactiveItemClient client;
+
+    private ItemDto itemDto;
+
+    @BeforeEach
+    void beforeEach() {
+        itemDto = ItemDto
+                .builder()
+                .id(1L)
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+    }
+
+    @Test
+    void save_whenItemDtoIsValid_thenReturnStatusIsOk() {
+        when(client.save(eq(itemDto), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.post().uri("/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(itemDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).save(eq(itemDto), anyLong());
+    }
+
+    @Test
+    void save_whenNameIsBlank_thenReturnStatusIsBadRequest() {
+        itemDto.setName("    ");
+
+        webClient.post().uri("/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(itemDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(client, never()).save(any(ItemDto.class), anyLong());
+    }
+
+    @Test
+    void findAvailability_whenPeriodIsCorrect_thenReturnStatusIsOk() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(client.findAvailability(1L, 1L, from, from.plusDays(7)))
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.get().uri("/items/1/availability?from=2030-01-01T10:00:00&to=2030-01-08T10:00:00")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).findAvailability(1L, 1L, from, from.plusDays(7));
+    }
+
+    @Test
+    void findAvailability_whenFromIsNotBeforeTo_thenReturnStatusIsBadRequest() {
+        webClient.get().uri("/items/1/availability?from=2030-01-01T10:00:00&to=2030-01-01T10:00:00")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(client, never()).findAvailability(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void search_whenSizeIsNotPositive_thenReturnStatusIsInternalServerError() {
+        webClient.get().uri("/items/search?text=text&from=0&size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        verify(client, never()).search(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void saveAll_whenSomeRowsAreInvalid_thenForwardValidRowsAndReturnResultPerRow() {
+        ItemDto invalid = ItemDto.builder().name("name").description("   ").available(true).build();
+        when(client.saveAll(anyList(), anyLong())).thenReturn(Mono.just(ResponseEntity.<Object>ok(
+                objectMapper.writeValueAsBytes(List.of(Map.of("index", 0, "id", 10), Map.of("index", 1, "id", 11))))));
+
+        webClient.post().uri("/items/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(objectMapper.writeValueAsString(itemDto) + "\n"
+                        + objectMapper.writeValueAsString(invalid) + "\n"
+                        + objectMapper.writeValueAsString(itemDto) + "\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].id").isEqualTo(10)
+                .jsonPath("$[1].error").isEqualTo("description: must not be blank")
+                .jsonPath("$[2].index").isEqualTo(2)
+                .jsonPath("$[2].id").isEqualTo(11);
+
+        verify(client, times(1)).saveAll(eq(List.of(itemDto, itemDto)), eq(1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void saveAll_whenLaterChunkFails_thenKeepSavedRowsAndRejectTheRest() {
+        List<Map<String, Object>> saved = IntStream.range(0, ItemBulk.CHUNK_SIZE)
+                .mapToObj(i -> Map.<String, Object>of("index", i, "id", i + 1))
+                .collect(Collectors.toList());
+        when(client.saveAll(anyList(), anyLong()))
+                .thenReturn(Mono.just(ResponseEntity.<Object>ok(objectMapper.writeValueAsBytes(saved))))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(objectMapper.writeValueAsBytes(Map.of("error", "database is down")))));
+
+        webClient.post().uri("/items/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(objectMapper.writeValueAsString(Collections.nCopies(ItemBulk.CHUNK_SIZE + 2, itemDto)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(ItemBulk.CHUNK_SIZE + 2)
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[" + (ItemBulk.CHUNK_SIZE - 1) + "].id").isEqualTo(ItemBulk.CHUNK_SIZE)
+                .jsonPath("$[" + ItemBulk.CHUNK_SIZE + "].error").isEqualTo("database is down")
+                .jsonPath("$[" + (ItemBulk.CHUNK_SIZE + 1) + "].error").isEqualTo("database is down");
+
+        verify(client, times(2)).saveAll(anyList(), eq(1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void saveAll_whenServerRejectsUser_thenReturnServerStatus() {
+        when(client.saveAll(anyList(), anyLong())).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+
+        webClient.post().uri("/items/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(objectMapper.writeValueAsString(List.of(itemDto)))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
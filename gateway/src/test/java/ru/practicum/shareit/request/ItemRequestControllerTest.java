@@ -65,14 +65,14 @@ class ItemRequestControllerTest {
     @SneakyThrows
     @Test
     void findById() {
-        when(client.findById(anyLong(), anyLong())).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+        when(client.findById(anyLong(), anyLong(), isNull())).thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/requests/{requestId}", 1L)
                         .contentType("application/json")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        verify(client, times(1)).findById(anyLong(), anyLong());
+        verify(client, times(1)).findById(anyLong(), anyLong(), isNull());
     }
 
     @SneakyThrows
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(controllers = ReactiveItemRequestController.class)
+class ReactiveItemRequestControllerTest {
+    @Autowired
+    private WebTestClient webClient;
+
+    @MockBean
+    private ReactiveItemRequestClient client;
+
+    private ItemRequestDto requestDto;
+
+    @BeforeEach
+    void beforeEach() {
+        requestDto = new ItemRequestDto();
+    }
+
+    @Test
+    void save_whenRequestDtoIsValid_thenReturnStatusIsOk() {
+        requestDto.setDescription("description");
+        when(client.save(requestDto, 1L)).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.post().uri("/requests")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(requestDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).save(requestDto, 1L);
+    }
+
+    @Test
+    void save_whenDescriptionIsBlank_thenReturnStatusIsBadRequest() {
+        requestDto.setDescription(" ");
+
+        webClient.post().uri("/requests")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Sharer-User-Id", "1")
+                .bodyValue(requestDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(client, never()).save(any(ItemRequestDto.class), anyLong());
+    }
+
+    @Test
+    void findAll_whenAllArgumentsIsCorrect_thenReturnStatusIsOk() {
+        when(client.findAll(0, 10, 1L)).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.get().uri("/requests/all?from=0&size=10")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).findAll(0, 10, 1L);
+    }
+
+    @Test
+    void findAll_whenSizeIsNotPositive_thenReturnStatusIsInternalServerError() {
+        webClient.get().uri("/requests/all?from=0&size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        verify(client, never()).findAll(anyInt(), anyInt(), anyLong());
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(controllers = ReactiveUserController.class)
+class ReactiveUserControllerTest {
+    @Autowired
+    private WebTestClient webClient;
+
+    @MockBean
+    private ReactiveUserClient client;
+
+    private UserDto userDto;
+
+    @BeforeEach
+    void beforeEach() {
+        userDto = UserDto
+                .builder()
+                .id(1L)
+                .name("name")
+                .email("email@mail.com")
+                .build();
+    }
+
+    @Test
+    void save_whenUserDtoIsValid_thenReturnStatusIsOk() {
+        when(client.save(userDto)).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).save(userDto);
+    }
+
+    @Test
+    void save_whenEmailIsNotValid_thenReturnStatusIsBadRequest() {
+        userDto.setEmail("email");
+
+        webClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(client, never()).save(any(UserDto.class));
+    }
+
+    @Test
+    void update_whenUserDtoIsValid_thenReturnStatusIsOk() {
+        when(client.update(userDto, 1L)).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.patch().uri("/users/{userId}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).update(userDto, 1L);
+    }
+
+    @Test
+    void findById_whenServerRespondsWithBytes_thenPassBodyThrough() {
+        when(client.findById(1L)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"id\":1}".getBytes())));
+
+        webClient.get().uri("/users/{userId}", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().json("{\"id\":1}");
+    }
+
+    @Test
+    void delete() {
+        when(client.deleteById(anyLong())).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webClient.delete().uri("/users/{userId}", 1L)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(client, times(1)).deleteById(1L);
+    }
+}
@@ -130,11 +130,11 @@ class UserControllerTest {
     @SneakyThrows
     @Test
     void findById() {
-        when(client.findById(anyLong())).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+        when(client.findById(anyLong(), isNull())).thenReturn(new ResponseEntity<>(HttpStatus.OK));
 
         mockMvc.perform(get("/users/{userId}", 1L)).andExpect(status().isOk());
 
-        verify(client, times(1)).findById(anyLong());
+        verify(client, times(1)).findById(anyLong(), isNull());
     }
 
     @SneakyThrows
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Runs the end-to-end suite on one box: starts server and gateway, seeds a generated data set
+# through the gateway and runs the scenarios. Needs no network beyond localhost. The server runs
+# with the load profile: in-memory H2 with every other setting, the second-level and query caches
+# included, as in production. Point it at a locally installed Postgres with SERVER_ARGS instead:
+#
+#   mvn -B -DskipTests package
+#   load-tests/run-suite.sh --users=1000 --items=5000 --bookings=20000 --comments=2000 --concurrency=16,64,256
+#   SERVER_ARGS="--spring.datasource.url=jdbc:postgresql://localhost:5432/shareit" load-tests/run-suite.sh
+#
+# Arguments are passed to LoadSuite; results and histograms go to load-tests/target/suite.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+SERVER_ARGS="${SERVER_ARGS:---spring.profiles.active=load}"
+OUT=load-tests/target/suite
+
+mkdir -p "$OUT"
+
+wait_for() {
+    for _ in $(seq 1 120); do
+        curl -sf "$1" > /dev/null && return 0
+        sleep 1
+    done
+    echo "$1 did not come up" >&2
+    return 1
+}
+
+# shellcheck disable=SC2086
+"$JAVA" -jar server/target/shareit-server-*.jar $SERVER_ARGS > "$OUT/server.log" 2>&1 &
+server=$!
+"$JAVA" -jar gateway/target/shareit-gateway-*.jar > "$OUT/gateway.log" 2>&1 &
+gateway=$!
+trap 'kill $server $gateway 2>/dev/null' EXIT
+
+wait_for http://localhost:9090/actuator/health
+wait_for http://localhost:8080/actuator/health
+
+"$JAVA" -cp load-tests/target/shareit-load-tests.jar ru.practicum.shareit.load.LoadSuite \
+    --gateway=http://localhost:8080 --out="$OUT" "$@" | tee "$OUT/result.txt"
@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling of the whole stack on one box.
+# Starts server (load profile: H2 with the production caches) and gateway in each mode, seeds the
+# generated data set and runs the LoadSuite scenario mix at every concurrency level. Tomcat
+# connection limits are raised equally in both modes so that the thread model is the only difference.
+#
+#   mvn -B -DskipTests package
+#   JAVA_HOME=/path/to/jdk-21 load-tests/run-thread-modes.sh --users=1000 --items=5000
+#
+# Environment: CONCURRENCY (default 200,2000,20000), WARMUP and DURATION in seconds. Arguments are
+# passed to LoadSuite; results and histograms go to load-tests/target/threads-<mode>.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+CONCURRENCY="${CONCURRENCY:-200,2000,20000}"
+WARMUP="${WARMUP:-10}"
+DURATION="${DURATION:-30}"
+TOMCAT="--server.tomcat.max-connections=25000 --server.tomcat.accept-count=2000"
+LOGS=load-tests/target
+
+ulimit -n 65536 2>/dev/null || echo "could not raise open files limit, 20000 clients need about 45000 sockets" >&2
+
+wait_for() {
+    for _ in $(seq 1 120); do
+        curl -sf "$1" > /dev/null && return 0
+        sleep 1
+    done
+    echo "$1 did not come up" >&2
+    return 1
+}
+
+for virtual in false true; do
+    mode=$([ "$virtual" = true ] && echo virtual || echo platform)
+    out="$LOGS/threads-$mode"
+    mkdir -p "$out"
+    "$JAVA" -jar server/target/shareit-server-*.jar --spring.profiles.active=load \
+        --shareit.virtual-threads.enabled="$virtual" $TOMCAT > "$out/server.log" 2>&1 &
+    server=$!
+    "$JAVA" -jar gateway/target/shareit-gateway-*.jar \
+        --shareit.virtual-threads.enabled="$virtual" $TOMCAT > "$out/gateway.log" 2>&1 &
+    gateway=$!
+    trap 'kill $server $gateway 2>/dev/null' EXIT
+
+    wait_for http://localhost:9090/actuator/health
+    wait_for http://localhost:8080/actuator/health
+
+    echo "# $mode threads"
+    "$JAVA" -cp load-tests/target/shareit-load-tests.jar ru.practicum.shareit.load.LoadSuite \
+        --gateway=http://localhost:8080 --out="$out" --concurrency="$CONCURRENCY" \
+        --warmup="$WARMUP" --duration="$DURATION" "$@" | tee "$out/result.txt"
+
+    kill $server $gateway
+    wait $server $gateway 2>/dev/null || true
+    trap - EXIT
+done
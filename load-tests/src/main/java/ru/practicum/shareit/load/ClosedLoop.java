@@ -0,0 +1,65 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a fixed number of clients busy: every client starts its next request, or scenario
+ * iteration, as soon as the previous one completes. Clients are chains of asynchronous calls,
+ * not threads, so tens of thousands of them fit in one harness process. Latency is measured
+ * from send to response, so it does not include the time a client would have waited to send
+ * (coordinated omission).
+ */
+public class ClosedLoop {
+    private final HttpClient http;
+    private final Executor executor;
+
+    public ClosedLoop(HttpClient http, Executor executor) {
+        this.http = http;
+        this.executor = executor;
+    }
+
+    public LoadResult run(HttpRequest request, int concurrency, Duration duration) throws InterruptedException {
+        return run(() -> http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() < 400), concurrency, duration);
+    }
+
+    public LoadResult run(Scenario scenario, int concurrency, Duration duration) throws InterruptedException {
+        Recorder recorder = new Recorder(3);
+        LongAdder errors = new LongAdder();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            send(scenario, recorder, errors, deadline, done);
+        }
+        done.await();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new LoadResult(concurrency, recorder.getIntervalHistogram(), errors.sum(), elapsed);
+    }
+
+    private void send(Scenario scenario, Recorder recorder, LongAdder errors, long deadline, CountDownLatch done) {
+        long start = System.nanoTime();
+        if (start >= deadline) {
+            done.countDown();
+            return;
+        }
+        scenario.execute()
+                .whenCompleteAsync((succeeded, error) -> {
+                    if (error != null || !succeeded) {
+                        errors.increment();
+                    } else {
+                        recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                    }
+                    send(scenario, recorder, errors, deadline, done);
+                }, executor);
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A reproducible data set described by indexes only: the same sizes and seed always give the same
+ * owners, names, bookings and comments. Item owners and booked items follow a Zipf distribution,
+ * bookers and comment authors are never the owner of the item.
+ */
+public class Dataset {
+    static final String[] WORDS = {
+        "drill", "ladder", "tent", "bike", "camera", "projector", "kayak", "saw", "grill", "tripod",
+        "speaker", "guitar", "scooter", "sander", "jigsaw", "telescope", "mixer", "hammock", "snowboard", "skis",
+        "helmet", "lantern", "canoe", "printer", "keyboard", "drone", "blender", "vacuum", "heater", "fan",
+        "trailer", "cooler", "stroller", "compressor", "generator", "mower", "chainsaw", "router", "easel", "microscope"
+    };
+    static final double SKEW = 1.1;
+
+    private final int users;
+    private final int[] itemOwners;
+    private final String[] itemNames;
+    private final List<PlannedBooking> bookings;
+    private final List<PlannedComment> comments;
+
+    private Dataset(int users, int[] itemOwners, String[] itemNames,
+                    List<PlannedBooking> bookings, List<PlannedComment> comments) {
+        this.users = users;
+        this.itemOwners = itemOwners;
+        this.itemNames = itemNames;
+        this.bookings = bookings;
+        this.comments = comments;
+    }
+
+    /**
+     * Bookings are approved, rejected or left waiting at a 7:1:2 ratio. Every comment comes with
+     * its own short approved booking, as only past bookers may comment.
+     */
+    public static Dataset generate(int users, int items, int bookings, int comments, long seed) {
+        if (users < 2 || items < 1) {
+            throw new IllegalArgumentException("The data set needs at least two users and one item");
+        }
+        Random random = new Random(seed);
+        Zipf owners = new Zipf(users, SKEW);
+        Zipf words = new Zipf(WORDS.length, SKEW);
+        int[] itemOwners = new int[items];
+        String[] itemNames = new String[items];
+        for (int i = 0; i < items; i++) {
+            itemOwners[i] = owners.next(random);
+            itemNames[i] = WORDS[words.next(random)] + " " + WORDS[random.nextInt(WORDS.length)];
+        }
+        Zipf booked = new Zipf(items, SKEW);
+        List<PlannedBooking> plannedBookings = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            int item = booked.next(random);
+            int decision = random.nextInt(10);
+            Boolean approved = decision < 7 ? Boolean.TRUE : decision < 8 ? Boolean.FALSE : null;
+            plannedBookings.add(new PlannedBooking(item, booker(random, users, itemOwners[item]), approved));
+        }
+        List<PlannedComment> plannedComments = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            int item = booked.next(random);
+            plannedComments.add(new PlannedComment(item, booker(random, users, itemOwners[item])));
+        }
+        return new Dataset(users, itemOwners, itemNames,
+                Collections.unmodifiableList(plannedBookings), Collections.unmodifiableList(plannedComments));
+    }
+
+    private static int booker(Random random, int users, int owner) {
+        int booker = random.nextInt(users - 1);
+        return booker >= owner ? booker + 1 : booker;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getItems() {
+        return itemOwners.length;
+    }
+
+    public int getItemOwner(int item) {
+        return itemOwners[item];
+    }
+
+    public String getItemName(int item) {
+        return itemNames[item];
+    }
+
+    public List<PlannedBooking> getBookings() {
+        return bookings;
+    }
+
+    public List<PlannedComment> getComments() {
+        return comments;
+    }
+
+    public static class PlannedBooking {
+        private final int item;
+        private final int booker;
+        private final Boolean approved;
+
+        PlannedBooking(int item, int booker, Boolean approved) {
+            this.item = item;
+            this.booker = booker;
+            this.approved = approved;
+        }
+
+        public int getItem() {
+            return item;
+        }
+
+        public int getBooker() {
+            return booker;
+        }
+
+        /**
+         * The owner's decision, or null when the booking stays waiting.
+         */
+        public Boolean getApproved() {
+            return approved;
+        }
+    }
+
+    public static class PlannedComment {
+        private final int item;
+        private final int author;
+
+        PlannedComment(int item, int author) {
+            this.item = item;
+            this.author = author;
+        }
+
+        public int getItem() {
+            return item;
+        }
+
+        public int getAuthor() {
+            return author;
+        }
+    }
+}
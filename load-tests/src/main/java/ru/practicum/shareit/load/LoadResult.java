@@ -0,0 +1,82 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Throughput and latency of one concurrency level; latencies are kept in microseconds.
+ */
+public class LoadResult {
+    static final String HEADER = String.format(Locale.ROOT, "%-10s %11s %10s %10s %10s %10s %10s %10s",
+            "clients", "requests", "errors", "rps", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+    /**
+     * A level counts as sustained while less than this share of its requests fail.
+     */
+    static final double SUSTAINABLE_ERROR_RATE = 0.01;
+
+    private final int concurrency;
+    private final Histogram latency;
+    private final long errors;
+    private final Duration elapsed;
+
+    public LoadResult(int concurrency, Histogram latency, long errors, Duration elapsed) {
+        this.concurrency = concurrency;
+        this.latency = latency;
+        this.errors = errors;
+        this.elapsed = elapsed;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public long getRequests() {
+        return latency.getTotalCount() + errors;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getRps() {
+        return latency.getTotalCount() / (elapsed.toNanos() / 1e9);
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public boolean isSustainable() {
+        return getRequests() > 0 && errors < getRequests() * SUSTAINABLE_ERROR_RATE;
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, "%-10d %11d %10d %10.0f %10.2f %10.2f %10.2f %10.2f",
+                concurrency, getRequests(), errors, getRps(), getPercentileMillis(50), getPercentileMillis(99),
+                getPercentileMillis(99.9), latency.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Writes the latency histogram as an HdrHistogram percentile distribution in milliseconds.
+     */
+    public void writePercentiles(PrintStream out) {
+        latency.outputPercentileDistribution(out, 1000.0);
+    }
+
+    /**
+     * Highest throughput among the levels that stayed under the error budget, or null if none did.
+     */
+    public static LoadResult maxSustainable(List<LoadResult> results) {
+        LoadResult best = null;
+        for (LoadResult result : results) {
+            if (result.isSustainable() && (best == null || result.getRps() > best.getRps())) {
+                best = result;
+            }
+        }
+        return best;
+    }
+}
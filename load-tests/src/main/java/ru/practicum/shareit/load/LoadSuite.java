@@ -0,0 +1,92 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end suite: seeds a generated {@link Dataset} through the gateway, then runs every scenario
+ * at every concurrency level. Prints throughput and latency percentiles per scenario and writes
+ * the full latency histograms to {@code <out>/<scenario>-<clients>.hgrm}:
+ * <pre>
+ * java -cp load-tests/target/shareit-load-tests.jar ru.practicum.shareit.load.LoadSuite \
+ *     --gateway=http://localhost:8080 --users=200 --items=1000 --bookings=5000 --comments=500 \
+ *     --seed=42 --scenarios=search,owner-bookings,item-view,booking-approve \
+ *     --concurrency=16,64 --warmup=5 --duration=20 --out=load-tests/target/suite
+ * </pre>
+ */
+public final class LoadSuite {
+
+    private LoadSuite() {
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        Map<String, String> options = LoadTest.parse(args);
+        URI gateway = URI.create(options.getOrDefault("gateway", "http://localhost:8080"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Dataset dataset = Dataset.generate(
+                Integer.parseInt(options.getOrDefault("users", "200")),
+                Integer.parseInt(options.getOrDefault("items", "1000")),
+                Integer.parseInt(options.getOrDefault("bookings", "5000")),
+                Integer.parseInt(options.getOrDefault("comments", "500")),
+                seed);
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        List<Integer> levels = new ArrayList<>();
+        for (String level : options.getOrDefault("concurrency", "16,64").split(",")) {
+            levels.add(Integer.parseInt(level.trim()));
+        }
+        Path out = Path.of(options.getOrDefault("out", "load-tests/target/suite"));
+        Files.createDirectories(out);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        ShareItApi api = new ShareItApi(http, gateway);
+
+        try {
+            long seedStart = System.nanoTime();
+            Seeded seeded = new Seeder(api).seed(dataset, Long.toString(System.currentTimeMillis(), 36));
+            System.out.printf(Locale.ROOT, "# seeded %d users, %d items, %d bookings, %d comments (seed %d) in %.1f s%n",
+                    dataset.getUsers(), dataset.getItems(), dataset.getBookings().size(), dataset.getComments().size(),
+                    seed, (System.nanoTime() - seedStart) / 1e9);
+
+            Map<String, Scenario> scenarios = Scenarios.all(api, seeded);
+            List<String> names = options.containsKey("scenarios")
+                    ? Arrays.asList(options.get("scenarios").split(","))
+                    : new ArrayList<>(scenarios.keySet());
+            ClosedLoop loop = new ClosedLoop(http, executor);
+            System.out.println(String.format(Locale.ROOT, "%-16s ", "scenario") + LoadResult.HEADER);
+            for (String name : names) {
+                Scenario scenario = scenarios.get(name.trim());
+                if (scenario == null) {
+                    throw new IllegalArgumentException("Unknown scenario " + name
+                            + ", expected one of " + scenarios.keySet());
+                }
+                for (int concurrency : levels) {
+                    if (!warmup.isZero()) {
+                        loop.run(scenario, concurrency, warmup);
+                    }
+                    LoadResult result = loop.run(scenario, concurrency, duration);
+                    System.out.println(String.format(Locale.ROOT, "%-16s ", name.trim()) + result.format());
+                    try (PrintStream histogram = new PrintStream(
+                            Files.newOutputStream(out.resolve(name.trim() + "-" + concurrency + ".hgrm")))) {
+                        result.writePercentiles(histogram);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Command line entry point. Runs one GET request at every concurrency level in turn and prints
+ * a table of throughput and latency percentiles, followed by the maximum sustainable throughput:
+ * <pre>
+ * java -jar load-tests/target/shareit-load-tests.jar --label=virtual \
+ *     --target=http://localhost:8080/items?from=0&amp;size=20 --user-id=1 \
+ *     --concurrency=200,2000,20000 --warmup=10 --duration=30
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        URI target = URI.create(options.getOrDefault("target", "http://localhost:8080/items?from=0&size=20"));
+        String userId = options.getOrDefault("user-id", "1");
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        List<Integer> levels = new ArrayList<>();
+        for (String level : options.getOrDefault("concurrency", "200,2000,20000").split(",")) {
+            levels.add(Integer.parseInt(level.trim()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .header("X-Sharer-User-Id", userId)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        ClosedLoop loop = new ClosedLoop(http, executor);
+
+        System.out.println("# " + options.getOrDefault("label", "run") + " GET " + target);
+        System.out.println(LoadResult.HEADER);
+        List<LoadResult> results = new ArrayList<>();
+        for (int concurrency : levels) {
+            if (!warmup.isZero()) {
+                loop.run(request, concurrency, warmup);
+            }
+            LoadResult result = loop.run(request, concurrency, duration);
+            results.add(result);
+            System.out.println(result.format());
+        }
+        LoadResult best = LoadResult.maxSustainable(results);
+        System.out.println(best == null
+                ? "max sustainable: none, every level failed more than 1% of requests"
+                : String.format(Locale.ROOT, "max sustainable: %.0f rps at %d clients, p99 %.2f ms",
+                best.getRps(), best.getConcurrency(), best.getPercentileMillis(99)));
+        executor.shutdownNow();
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.load;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One iteration of a client's work, possibly several requests long.
+ */
+@FunctionalInterface
+public interface Scenario {
+    /**
+     * Completes with whether every request of the iteration succeeded.
+     */
+    CompletableFuture<Boolean> execute();
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.load;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The scripted scenarios of the suite. Items, and through them owners, are picked with the same
+ * Zipf skew the data set was generated with, so popular items stay popular under load.
+ */
+public final class Scenarios {
+
+    private Scenarios() {
+    }
+
+    public static Map<String, Scenario> all(ShareItApi api, Seeded seeded) {
+        Dataset dataset = seeded.getDataset();
+        Zipf items = new Zipf(dataset.getItems(), Dataset.SKEW);
+        Zipf words = new Zipf(Dataset.WORDS.length, Dataset.SKEW);
+        AtomicLong slots = new AtomicLong();
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("search", () -> {
+            Random random = ThreadLocalRandom.current();
+            return api.succeeds(api.get("/items/search?from=0&size=20&text=" + Dataset.WORDS[words.next(random)],
+                    seeded.getUserId(random.nextInt(dataset.getUsers()))));
+        });
+        scenarios.put("owner-bookings", () -> {
+            int item = items.next(ThreadLocalRandom.current());
+            return api.succeeds(api.get("/bookings/owner?state=ALL&from=0&size=20", seeded.getOwnerId(item)));
+        });
+        scenarios.put("item-view", () -> {
+            Random random = ThreadLocalRandom.current();
+            int item = items.next(random);
+            return api.succeeds(api.get("/items/" + seeded.getItemId(item),
+                    seeded.getUserId(random.nextInt(dataset.getUsers()))));
+        });
+        scenarios.put("booking-approve", () -> {
+            Random random = ThreadLocalRandom.current();
+            int item = items.next(random);
+            int booker = random.nextInt(dataset.getUsers());
+            if (booker == dataset.getItemOwner(item)) {
+                booker = (booker + 1) % dataset.getUsers();
+            }
+            LocalDateTime start = seeded.getFreeFrom().plusMinutes(2 * slots.getAndIncrement());
+            CompletableFuture<Boolean> approved = api
+                    .createBooking(seeded.getUserId(booker), seeded.getItemId(item), start, start.plusMinutes(1))
+                    .thenCompose(id -> api.decide(seeded.getOwnerId(item), id, true))
+                    .thenApply(id -> true);
+            return approved.exceptionally(error -> false);
+        });
+        return scenarios;
+    }
+}
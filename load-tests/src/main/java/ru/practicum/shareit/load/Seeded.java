@@ -0,0 +1,43 @@
+package ru.practicum.shareit.load;
+
+import java.time.LocalDateTime;
+
+/**
+ * A seeded {@link Dataset} together with the ids the gateway gave its users and items.
+ */
+public class Seeded {
+    private final Dataset dataset;
+    private final long[] userIds;
+    private final long[] itemIds;
+    private final LocalDateTime freeFrom;
+
+    public Seeded(Dataset dataset, long[] userIds, long[] itemIds, LocalDateTime freeFrom) {
+        this.dataset = dataset;
+        this.userIds = userIds;
+        this.itemIds = itemIds;
+        this.freeFrom = freeFrom;
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    public long getUserId(int user) {
+        return userIds[user];
+    }
+
+    public long getItemId(int item) {
+        return itemIds[item];
+    }
+
+    public long getOwnerId(int item) {
+        return userIds[dataset.getItemOwner(item)];
+    }
+
+    /**
+     * End of the last seeded booking; bookings made by the scenarios start after it.
+     */
+    public LocalDateTime getFreeFrom() {
+        return freeFrom;
+    }
+}
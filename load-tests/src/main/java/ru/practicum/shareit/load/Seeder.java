@@ -0,0 +1,137 @@
+package ru.practicum.shareit.load;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Creates a {@link Dataset} through the gateway, so that every row passes the same validation as
+ * real traffic, whichever database the server runs on. Requests are sent in windows of
+ * {@value #WINDOW} concurrent calls.
+ */
+public class Seeder {
+    static final int WINDOW = 64;
+    /**
+     * Planned bookings take one hour slots one after another, so they never overlap an approved one.
+     */
+    static final Duration SLOT = Duration.ofHours(1);
+    static final Duration COMMENT_LEAD = Duration.ofSeconds(1);
+    static final Duration COMMENT_BOOKING = Duration.ofMillis(5);
+
+    private final ShareItApi api;
+
+    public Seeder(ShareItApi api) {
+        this.api = api;
+    }
+
+    /**
+     * Seeds the data set; {@code runTag} keeps user emails unique when the database is reused.
+     */
+    public Seeded seed(Dataset dataset, String runTag) throws InterruptedException {
+        long[] userIds = new long[dataset.getUsers()];
+        inWindows(userIds.length, i -> api
+                .createUser("user" + i, "user" + i + "." + runTag + "@load.test")
+                .thenAccept(id -> userIds[i] = id));
+
+        long[] itemIds = new long[dataset.getItems()];
+        inWindows(itemIds.length, i -> api
+                .createItem(userIds[dataset.getItemOwner(i)], dataset.getItemName(i), "item " + i)
+                .thenAccept(id -> itemIds[i] = id));
+
+        LocalDateTime firstSlot = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        List<Dataset.PlannedBooking> bookings = dataset.getBookings();
+        long[] bookingIds = new long[bookings.size()];
+        inWindows(bookings.size(), i -> {
+            Dataset.PlannedBooking booking = bookings.get(i);
+            LocalDateTime start = firstSlot.plus(SLOT.multipliedBy(i));
+            return api.createBooking(userIds[booking.getBooker()], itemIds[booking.getItem()],
+                            start, start.plus(SLOT).minusMinutes(1))
+                    .thenAccept(id -> bookingIds[i] = id);
+        });
+        Map<Integer, List<Supplier<CompletableFuture<?>>>> decisions = new LinkedHashMap<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Dataset.PlannedBooking booking = bookings.get(i);
+            if (booking.getApproved() != null) {
+                long ownerId = userIds[dataset.getItemOwner(booking.getItem())];
+                long bookingId = bookingIds[i];
+                decisions.computeIfAbsent(booking.getItem(), item -> new ArrayList<>())
+                        .add(() -> api.decide(ownerId, bookingId, booking.getApproved()));
+            }
+        }
+        inItemOrder(decisions);
+
+        seedComments(dataset, userIds, itemIds);
+        return new Seeded(dataset, userIds, itemIds, firstSlot.plus(SLOT.multipliedBy(bookings.size())));
+    }
+
+    /**
+     * Books every comment author a few milliseconds starting just ahead of now, waits for the last
+     * of these bookings to pass and then posts the comments.
+     */
+    private void seedComments(Dataset dataset, long[] userIds, long[] itemIds) throws InterruptedException {
+        List<Dataset.PlannedComment> comments = dataset.getComments();
+        if (comments.isEmpty()) {
+            return;
+        }
+        LocalDateTime[] last = {LocalDateTime.now()};
+        Map<Integer, List<Supplier<CompletableFuture<?>>>> approvals = new LinkedHashMap<>();
+        inWindows(comments.size(), i -> {
+            Dataset.PlannedComment comment = comments.get(i);
+            LocalDateTime start = LocalDateTime.now().plus(COMMENT_LEAD);
+            LocalDateTime free = last[0].plus(COMMENT_BOOKING.multipliedBy(2));
+            if (start.isBefore(free)) {
+                start = free;
+            }
+            last[0] = start;
+            long ownerId = userIds[dataset.getItemOwner(comment.getItem())];
+            List<Supplier<CompletableFuture<?>>> itemApprovals = approvals.computeIfAbsent(comment.getItem(), item -> new ArrayList<>());
+            return api.createBooking(userIds[comment.getAuthor()], itemIds[comment.getItem()],
+                            start, start.plus(COMMENT_BOOKING))
+                    .thenAccept(id -> {
+                        synchronized (itemApprovals) {
+                            itemApprovals.add(() -> api.decide(ownerId, id, true));
+                        }
+                    });
+        });
+        inItemOrder(approvals);
+        Duration untilPast = Duration.between(LocalDateTime.now(), last[0].plus(COMMENT_BOOKING));
+        if (!untilPast.isNegative()) {
+            Thread.sleep(untilPast.toMillis() + 100);
+        }
+        inWindows(comments.size(), i -> api.comment(userIds[comments.get(i).getAuthor()],
+                itemIds[comments.get(i).getItem()], "comment " + i));
+    }
+
+    /**
+     * Approving bumps the item version, so decisions on one item are sent one after another while
+     * different items are decided concurrently.
+     */
+    private static void inItemOrder(Map<Integer, List<Supplier<CompletableFuture<?>>>> decisions) {
+        List<List<Supplier<CompletableFuture<?>>>> items = new ArrayList<>(decisions.values());
+        inWindows(items.size(), i -> {
+            CompletableFuture<?> chain = CompletableFuture.completedFuture(null);
+            for (Supplier<CompletableFuture<?>> decision : items.get(i)) {
+                chain = chain.thenCompose(previous -> decision.get());
+            }
+            return chain;
+        });
+    }
+
+    private static void inWindows(int count, IntFunction<CompletableFuture<?>> call) {
+        List<CompletableFuture<?>> window = new ArrayList<>(WINDOW);
+        for (int i = 0; i < count; i++) {
+            window.add(call.apply(i));
+            if (window.size() == WINDOW || i == count - 1) {
+                CompletableFuture.allOf(window.toArray(CompletableFuture[]::new)).join();
+                window.clear();
+            }
+        }
+    }
+}
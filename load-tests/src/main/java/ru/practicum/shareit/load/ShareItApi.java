@@ -0,0 +1,97 @@
+package ru.practicum.shareit.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Asynchronous calls to the gateway used to seed data and to drive the scenarios. Responses are
+ * not bound to classes: only the id of a created resource is read, it is the first field of every
+ * response body.
+ */
+public class ShareItApi {
+    static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final URI gateway;
+
+    public ShareItApi(HttpClient http, URI gateway) {
+        this.http = http;
+        this.gateway = gateway;
+    }
+
+    public CompletableFuture<Long> createUser(String name, String email) {
+        return post("/users", null, "{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}");
+    }
+
+    public CompletableFuture<Long> createItem(long ownerId, String name, String description) {
+        return post("/items", ownerId,
+                "{\"name\":\"" + name + "\",\"description\":\"" + description + "\",\"available\":true}");
+    }
+
+    public CompletableFuture<Long> createBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return post("/bookings", bookerId,
+                "{\"itemId\":" + itemId + ",\"start\":\"" + start + "\",\"end\":\"" + end + "\"}");
+    }
+
+    public CompletableFuture<Long> decide(long ownerId, long bookingId, boolean approved) {
+        return send(request("/bookings/" + bookingId + "?approved=" + approved, ownerId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    public CompletableFuture<Long> comment(long authorId, long itemId, String text) {
+        return post("/items/" + itemId + "/comment", authorId, "{\"text\":\"" + text + "\"}");
+    }
+
+    public HttpRequest get(String pathAndQuery, long userId) {
+        return request(pathAndQuery, userId).GET().build();
+    }
+
+    /**
+     * Completes with whether the gateway answered below 400, failures to connect count as false.
+     */
+    public CompletableFuture<Boolean> succeeds(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> error == null && response.statusCode() < 400);
+    }
+
+    private CompletableFuture<Long> post(String path, Long userId, String json) {
+        return send(request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    private HttpRequest.Builder request(String pathAndQuery, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(gateway.resolve(pathAndQuery)).timeout(TIMEOUT);
+        if (userId != null) {
+            builder.header(USER_HEADER, userId.toString());
+        }
+        return builder;
+    }
+
+    private CompletableFuture<Long> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw new IllegalStateException(request.method() + " " + request.uri() + " answered "
+                                + response.statusCode() + ": " + response.body());
+                    }
+                    return id(response.body());
+                });
+    }
+
+    static Long id(String body) {
+        Matcher matcher = ID.matcher(body);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
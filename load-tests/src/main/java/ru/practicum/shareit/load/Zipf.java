@@ -0,0 +1,32 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws ranks {@code 0..n-1} where rank {@code k} is {@code (k + 1)^exponent} times less likely than
+ * rank 0, so a few users own most items and a few items take most bookings.
+ */
+public class Zipf {
+    private final double[] cdf;
+
+    public Zipf(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf needs at least one rank");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    public int next(Random random) {
+        int rank = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(rank >= 0 ? rank : -rank - 1, cdf.length - 1);
+    }
+}
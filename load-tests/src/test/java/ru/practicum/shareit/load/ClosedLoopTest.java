@@ -0,0 +1,100 @@
+package ru.practicum.shareit.load;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClosedLoopTest {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ClosedLoop loop;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> {
+            calls.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        executor = Executors.newFixedThreadPool(2);
+        loop = new ClosedLoop(HttpClient.newBuilder().executor(executor).build(), executor);
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void run_whenServerResponds_thenRecordEveryRequest() throws Exception {
+        LoadResult result = loop.run(request("/ok"), 4, Duration.ofMillis(300));
+
+        assertEquals(4, result.getConcurrency());
+        assertTrue(result.getRequests() > 0);
+        assertEquals(calls.get(), result.getRequests());
+        assertEquals(0, result.getErrors());
+        assertTrue(result.getRps() > 0);
+        assertTrue(result.isSustainable());
+    }
+
+    @Test
+    void run_whenServerFails_thenCountErrors() throws Exception {
+        LoadResult result = loop.run(request("/missing"), 2, Duration.ofMillis(200));
+
+        assertEquals(result.getRequests(), result.getErrors());
+        assertFalse(result.isSustainable());
+        assertNull(LoadResult.maxSustainable(List.of(result)));
+    }
+
+    @Test
+    void run_whenScenarioFails_thenCountErrors() throws Exception {
+        AtomicInteger iterations = new AtomicInteger();
+        Scenario scenario = () -> CompletableFuture.completedFuture(iterations.incrementAndGet() % 2 == 0);
+
+        LoadResult result = loop.run(scenario, 2, Duration.ofMillis(100));
+
+        assertEquals(iterations.get(), result.getRequests());
+        assertTrue(result.getErrors() > 0);
+        assertTrue(result.getErrors() < result.getRequests());
+    }
+
+    @Test
+    void id_whenBodyHasNestedIds_thenReturnFirst() {
+        assertEquals(12L, ShareItApi.id("{\"id\":12,\"booker\":{\"id\":3}}"));
+        assertNull(ShareItApi.id("{\"error\":\"not found\"}"));
+    }
+
+    @Test
+    void parse_whenArgumentIsNotOption_thenThrow() {
+        assertEquals("200,2000", LoadTest.parse(new String[]{"--concurrency=200,2000"}).get("concurrency"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTest.parse(new String[]{"concurrency"}));
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + path)).build();
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetTest {
+    @Test
+    void generate_whenSameSeed_thenSameDataset() {
+        Dataset first = Dataset.generate(20, 100, 300, 30, 7);
+        Dataset second = Dataset.generate(20, 100, 300, 30, 7);
+
+        for (int i = 0; i < first.getItems(); i++) {
+            assertEquals(first.getItemOwner(i), second.getItemOwner(i));
+            assertEquals(first.getItemName(i), second.getItemName(i));
+        }
+        for (int i = 0; i < first.getBookings().size(); i++) {
+            assertEquals(first.getBookings().get(i).getItem(), second.getBookings().get(i).getItem());
+            assertEquals(first.getBookings().get(i).getBooker(), second.getBookings().get(i).getBooker());
+            assertEquals(first.getBookings().get(i).getApproved(), second.getBookings().get(i).getApproved());
+        }
+    }
+
+    @Test
+    void generate_whenBooked_thenBookerIsNotOwner() {
+        Dataset dataset = Dataset.generate(2, 50, 500, 100, 1);
+
+        dataset.getBookings().forEach(b -> assertNotEquals(dataset.getItemOwner(b.getItem()), b.getBooker()));
+        dataset.getComments().forEach(c -> assertNotEquals(dataset.getItemOwner(c.getItem()), c.getAuthor()));
+    }
+
+    @Test
+    void generate_whenTooFewUsers_thenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> Dataset.generate(1, 10, 10, 10, 1));
+    }
+
+    @Test
+    void next_whenSkewed_thenFirstRanksDominate() {
+        Zipf zipf = new Zipf(1000, Dataset.SKEW);
+        Random random = new Random(3);
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[zipf.next(random)]++;
+        }
+
+        int top = 0;
+        for (int rank = 0; rank < 10; rank++) {
+            top += counts[rank];
+        }
+        assertTrue(top > 40_000, "top 1% of ranks drew " + top);
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[9]);
+    }
+}
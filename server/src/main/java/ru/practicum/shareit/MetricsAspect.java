@@ -0,0 +1,95 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.State;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Times every call of the booking, item, request and user services as {@code shareit.service}, and records
+ * how many rows each booking repository method returned as {@code shareit.repository.rows}. Booking list
+ * timers are tagged with the requested state; anything that is not a {@link State} is tagged as invalid
+ * so a client can not grow the number of series. Repository calls themselves are already timed by
+ * Spring Data as {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+    static final String SERVICE_TIMER = "shareit.service";
+    static final String ROWS_SUMMARY = "shareit.repository.rows";
+    private static final String NONE = "none";
+    private static final String INVALID = "INVALID";
+    private static final String STATE_PARAMETER = "status";
+    private static final Set<String> STATES = Arrays.stream(State.values())
+            .map(Enum::name)
+            .collect(Collectors.toSet());
+
+    private final MeterRegistry registry;
+
+    @Around("execution(public * ru.practicum.shareit.booking.service.BookingService.*(..)) || " +
+            "execution(public * ru.practicum.shareit.item.service.ItemService.*(..)) || " +
+            "execution(public * ru.practicum.shareit.request.service.ItemRequestService.*(..)) || " +
+            "execution(public * ru.practicum.shareit.user.service.UserService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_TIMER)
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", getState(joinPoint))
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    @AfterReturning(pointcut = "execution(* ru.practicum.shareit.booking.dao.BookingRepository.*(..))",
+            returning = "result")
+    public void countRows(JoinPoint joinPoint, Object result) {
+        int rows;
+        if (result instanceof Collection) {
+            rows = ((Collection<?>) result).size();
+        } else if (result instanceof Optional) {
+            rows = ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else {
+            return;
+        }
+        DistributionSummary.builder(ROWS_SUMMARY)
+                .baseUnit("rows")
+                .tag("repository", "BookingRepository")
+                .tag("method", joinPoint.getSignature().getName())
+                .register(registry)
+                .record(rows);
+    }
+
+    private String getState(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; names != null && i < names.length; i++) {
+            if (STATE_PARAMETER.equals(names[i])) {
+                return STATES.contains(args[i]) ? (String) args[i] : INVALID;
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caffeine backed JCache regions for the Hibernate second-level cache of users, items and
+ * requests, plus the query cache regions used by cacheable existence checks. Each application
+ * context gets its own cache manager. The regions keep JCache statistics, which cost a few counter
+ * increments per read, so the gets, puts and evictions of every entity region and its hit ratio are
+ * exported whether or not {@code hibernate.generate_statistics} is on. The cache counts its own
+ * reads: loading a missing entity reads the region once more before the put, so a region where every
+ * entity is loaded once and then found once reports one hit in three reads.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    private static final List<String> REGIONS = List.of("users", "items", "requests");
+    private static final AtomicInteger CACHE_MANAGERS = new AtomicInteger();
+
+    /**
+     * The statistics are registered as MBeans named after the cache manager URI, so every cache
+     * manager gets a URI of its own.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${shareit.second-level-cache.max-entries}") long maxEntries) {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager(
+                URI.create(SecondLevelCacheConfig.class.getName() + "-" + CACHE_MANAGERS.incrementAndGet()),
+                SecondLevelCacheConfig.class.getClassLoader());
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setStatisticsEnabled(true);
+        for (String region : REGIONS) {
+            cacheManager.createCache(region, configuration);
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, configuration);
+        // update timestamps hold one entry per table and must never be evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> {
+            for (String region : REGIONS) {
+                Cache<Object, Object> cache = secondLevelCacheManager.getCache(region);
+                JCacheMetrics.monitor(registry, cache);
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics(cache),
+                                SecondLevelCacheConfig::hitRatio)
+                        .strongReference(true)
+                        .tag("region", region)
+                        .description("Share of second-level cache reads served from the region")
+                        .register(registry);
+            }
+        };
+    }
+
+    static CacheStatisticsMXBean statistics(Cache<?, ?> cache) {
+        try {
+            return JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+                    new ObjectName("javax.cache:type=CacheStatistics,CacheManager=" + cache.getCacheManager().getURI()
+                            + ",Cache=" + cache.getName()),
+                    CacheStatisticsMXBean.class);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double hitRatio(CacheStatisticsMXBean statistics) {
+        long gets = statistics.getCacheGets();
+        return gets == 0 ? Double.NaN : (double) statistics.getCacheHits() / gets;
+    }
+}
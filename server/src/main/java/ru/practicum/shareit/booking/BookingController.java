@@ -2,11 +2,13 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -29,7 +31,12 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingDtoResponse findById(@PathVariable(name = "bookingId") long id,
-                                       @RequestHeader(name = "X-Sharer-User-Id") long ownerId) {
+                                       @RequestHeader(name = "X-Sharer-User-Id") long ownerId,
+                                       WebRequest request) {
+        Optional<String> etag = service.findETag(id, ownerId);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
         return service.findById(id, ownerId);
     }
 
@@ -37,7 +44,11 @@ public class BookingController {
     public List<BookingDtoResponse> findByUserId(@RequestHeader(name = "X-Sharer-User-Id") long userId,
                                                  @RequestParam() String state,
                                                  @RequestParam() int from,
-                                                 @RequestParam() int size) {
+                                                 @RequestParam() int size,
+                                                 @RequestParam(required = false) String after) {
+        if (after != null) {
+            return service.findAllByUserIdAfter(userId, state, after, size);
+        }
         return service.findAllByUserId(userId, state, from, size);
     }
 
@@ -45,7 +56,11 @@ public class BookingController {
     public List<BookingDtoResponse> findByOwnerId(@RequestHeader(name = "X-Sharer-User-Id") long ownerId,
                                                   @RequestParam() String state,
                                                   @RequestParam() int from,
-                                                  @RequestParam() int size) {
+                                                  @RequestParam() int size,
+                                                  @RequestParam(required = false) String after) {
+        if (after != null) {
+            return service.findAllByOwnerIdAfter(ownerId, state, after, size);
+        }
         return service.findAllByOwnerId(ownerId, state, from, size);
     }
 }
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.Value;
+import lombok.With;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Conditions of a booking list: the status and time ranges a state selects and the keyset position to
+ * continue after. Nothing is nullable: an open side of a range is a sentinel and "any status" is the list
+ * of every status, so no condition turns into an {@code ? is null or ...} that an index can not serve.
+ */
+@Value
+@With
+public class BookingBounds {
+    public static final LocalDateTime MIN = LocalDateTime.of(1, 1, 1, 0, 0);
+    public static final LocalDateTime MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+    public static final BookingBounds ALL =
+            new BookingBounds(List.of(Status.values()), MIN, MAX, MIN, MAX, MAX, Long.MAX_VALUE);
+
+    List<Status> statuses;
+    LocalDateTime startAfter;
+    LocalDateTime startUntil;
+    LocalDateTime endFrom;
+    LocalDateTime endBefore;
+    LocalDateTime cursorStart;
+    long cursorId;
+
+    public BookingBounds withStatus(Status status) {
+        return withStatuses(List.of(status));
+    }
+
+    /**
+     * Keeps the conditions and only admits bookings ordered after {@code (start, id)} by start and id descending.
+     */
+    public BookingBounds after(LocalDateTime start, long id) {
+        return withCursorStart(start).withCursorId(id);
+    }
+}
@@ -1,136 +1,122 @@
 package ru.practicum.shareit.booking.dao;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dao.ItemBooking;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String SELECT_BOOKING_DTO = "select new ru.practicum.shareit.booking.dto.BookingDtoResponse(" +
+            "b.id, b.start, b.end, b.status, b.user.id, b.user.name, b.item.id, b.item.name) ";
+    String WHERE_BOUNDS = "b.status in ?#{[1].statuses} " +
+            "and b.start > ?#{[1].startAfter} and b.start <= ?#{[1].startUntil} " +
+            "and b.end >= ?#{[1].endFrom} and b.end < ?#{[1].endBefore} " +
+            "and (b.start < ?#{[1].cursorStart} or (b.start = ?#{[1].cursorStart} and b.id < ?#{[1].cursorId}))";
+    Pageable FIRST = PageRequest.of(0, 1);
 
+    @EntityGraph(attributePaths = "user")
     @Query("select b " +
             "from Booking b " +
             "where b.item.id=?1 and b.user.id=?2 and b.status='APPROVED' and b.start < now()")
     List<Booking> findByItemIdAndUserIdAndStatusApprovedAndStartBeforeNow(long itemId, long userId, Sort sort);
 
+    @EntityGraph(attributePaths = {"item", "user"})
     @Query("select b " +
             "from Booking b " +
             "where b.id=?1 and (b.user.id=?2 or b.item.user.id=?2)")
     Optional<Booking> findByIdAndUserIdOrOwnerId(long id, long userId);
 
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item in (?1) and b.status not in (?2)")
-    List<Booking> findByItemInAndStatusNotIn(List<Item> items, Status status, Sort sort);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1")
-    List<Booking> findAllByUserId(long userId, Sort sort);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1 and b.status=?2")
-    List<Booking> findAllByUserIdAndStatus(long userId, Status status, Sort sort);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1 and now() between b.start and b.end")
-    List<Booking> findAllByUserIdAndCurrentTime(long userId, Sort sort);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1 and b.start > now()")
-    List<Booking> findAllByUserIdAndStartAfter(long userId, Sort sort);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1 and b.end < now()")
-    List<Booking> findAllByUserIdAndEndBefore(long userId, Sort sort);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1")
-    Page<Booking> findAllByUserId(long userId, Pageable pageable);
-
-    @Query("select b " +
+    /**
+     * Grows with every status change of the booking and every change of its item and booker.
+     */
+    @Query("select b.version + b.item.version + b.user.version " +
             "from Booking b " +
-            "where b.user.id=?1 and b.status=?2")
-    Page<Booking> findAllByUserIdAndStatus(long userId, Status status, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1 and now() between b.start and b.end")
-    Page<Booking> findAllByUserIdAndCurrentTime(long userId, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1 and b.start > now()")
-    Page<Booking> findAllByUserIdAndStartAfter(long userId, Pageable pageable);
-
-    @Query("select b " +
-            "from Booking b " +
-            "where b.user.id=?1 and b.end < now()")
-    Page<Booking> findAllByUserIdAndEndBefore(long userId, Pageable pageable);
+            "where b.id=?1 and (b.user.id=?2 or b.item.user.id=?2)")
+    Optional<Long> findVersionByIdAndUserIdOrOwnerId(long id, long userId);
 
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.user.id=?1 and b.status not in ?2")
-    List<Booking> findAllByOwnerIdAndStatusNotIn(long ownerId, Status status, Sort sort);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Optional<Booking> findWithItemAndUserById(long id);
 
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.user.id=?1")
-    List<Booking> findAllByOwnerId(long ownerId, Sort sort);
+    /*
+     * The findFirst lookups are declared explicitly: a derived query on ItemId joins the items table and
+     * filters on items.id, so it could not seek on the (item_id, status, start) index. The last and next
+     * booking lookups skip only rejected bookings, so they walk the (item_id, start) index in order and stop
+     * at the first row; they also order by the item id, which is fixed, because H2 only reads an index in
+     * order when the ORDER BY starts with its leading column.
+     */
+    default Optional<Booking> findFirstByItemIdAndStatusNotAndStartLessThanEqualOrderByStartDesc(long itemId,
+                                                                                                 Status status,
+                                                                                                 LocalDateTime now) {
+        return findByItemIdAndStatusNotAndStartLessThanEqual(itemId, status, now, FIRST).stream().findFirst();
+    }
 
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.user.id=?1 and b.status=?2")
-    List<Booking> findAllByOwnerIdAndStatus(long ownerId, Status status, Sort sort);
+    default Optional<Booking> findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc(long itemId,
+                                                                                        Status status,
+                                                                                        LocalDateTime now) {
+        return findByItemIdAndStatusNotAndStartAfter(itemId, status, now, FIRST).stream().findFirst();
+    }
 
-    @Query("select b " +
-            "from Booking b " +
-            "where b.item.user.id=?1 and now() between b.start and b.end")
-    List<Booking> findAllByOwnerIdAndCurrentTime(long ownerId, Sort sort);
+    default Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(long itemId,
+                                                                                       Status status,
+                                                                                       LocalDateTime end) {
+        return findByItemIdAndStatusAndStartBefore(itemId, status, end, FIRST).stream().findFirst();
+    }
 
     @Query("select b " +
             "from Booking b " +
-            "where b.item.user.id=?1 and b.start > now()")
-    List<Booking> findAllByOwnerIdAndStartAfter(long ownerId, Sort sort);
+            "where b.item.id=?1 and b.status <> ?2 and b.start <= ?3 " +
+            "order by b.item.id, b.start desc")
+    List<Booking> findByItemIdAndStatusNotAndStartLessThanEqual(long itemId, Status status, LocalDateTime now,
+                                                                Pageable pageable);
 
     @Query("select b " +
             "from Booking b " +
-            "where b.item.user.id=?1 and b.end < now()")
-    List<Booking> findAllByOwnerIdAndEndBefore(long ownerId, Sort sort);
+            "where b.item.id=?1 and b.status <> ?2 and b.start > ?3 " +
+            "order by b.item.id, b.start")
+    List<Booking> findByItemIdAndStatusNotAndStartAfter(long itemId, Status status, LocalDateTime now,
+                                                        Pageable pageable);
 
     @Query("select b " +
             "from Booking b " +
-            "where b.item.user.id=?1")
-    Page<Booking> findAllByOwnerId(long ownerId, Pageable pageable);
+            "where b.item.id=?1 and b.status=?2 and b.start < ?3 " +
+            "order by b.start desc")
+    List<Booking> findByItemIdAndStatusAndStartBefore(long itemId, Status status, LocalDateTime end,
+                                                      Pageable pageable);
 
-    @Query("select b " +
+    @Query("select new ru.practicum.shareit.item.dao.ItemBooking(b.item.id, b.id, b.start, b.end, b.user.id) " +
             "from Booking b " +
-            "where b.item.user.id=?1 and b.status=?2")
-    Page<Booking> findAllByOwnerIdAndStatus(long ownerId, Status status, Pageable pageable);
+            "where b.item.id in ?1 and b.status <> ?2")
+    List<ItemBooking> findByItemIdInAndStatusNot(List<Long> itemIds, Status status, Sort sort);
 
-    @Query("select b " +
+    @Query("select new ru.practicum.shareit.item.dao.ItemBooking(b.item.id, b.id, b.start, b.end, b.user.id) " +
             "from Booking b " +
-            "where b.item.user.id=?1 and now() between b.start and b.end")
-    Page<Booking> findAllByOwnerIdAndCurrentTime(long ownerId, Pageable pageable);
+            "where b.item.id = ?1 and b.status in ?2 " +
+            "order by b.start")
+    List<ItemBooking> findByItemIdAndStatusIn(long itemId, List<Status> statuses);
 
-    @Query("select b " +
+    /**
+     * Bookings of the booker within {@code bounds}; see {@link BookingBounds} for why no condition is optional.
+     */
+    @Query(SELECT_BOOKING_DTO +
             "from Booking b " +
-            "where b.item.user.id=?1 and b.start > now()")
-    Page<Booking> findAllByOwnerIdAndStartAfter(long ownerId, Pageable pageable);
+            "where b.user.id=?1 and " + WHERE_BOUNDS)
+    List<BookingDtoResponse> findAllByUserId(long userId, BookingBounds bounds, Pageable pageable);
 
-    @Query("select b " +
+    /**
+     * Bookings of the owner's items within {@code bounds}.
+     */
+    @Query(SELECT_BOOKING_DTO +
             "from Booking b " +
-            "where b.item.user.id=?1 and b.end < now()")
-    Page<Booking> findAllByOwnerIdAndEndBefore(long ownerId, Pageable pageable);
+            "where b.item.user.id=?1 and " + WHERE_BOUNDS)
+    List<BookingDtoResponse> findAllByOwnerId(long ownerId, BookingBounds bounds, Pageable pageable);
 }
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * A page that starts at an exact row offset. {@code PageRequest} only knows page numbers, so a {@code from}
+ * that is not a multiple of the page size would start at the beginning of its page instead.
+ */
+@Value
+public class OffsetPageRequest implements Pageable {
+    long offset;
+    int pageSize;
+    Sort sort;
+
+    public static OffsetPageRequest of(long offset, int pageSize, Sort sort) {
+        return new OffsetPageRequest(offset, pageSize, sort);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return Math.toIntExact(offset / pageSize);
+    }
+
+    @Override
+    public Pageable next() {
+        return of(offset + pageSize, pageSize, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? of(Math.max(offset - pageSize, 0), pageSize, sort) : this;
+    }
+
+    @Override
+    public Pageable first() {
+        return of(0, pageSize, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return of((long) pageNumber * pageSize, pageSize, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
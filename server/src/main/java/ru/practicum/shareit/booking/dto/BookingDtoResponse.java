@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.dto;
 
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Builder
+@AllArgsConstructor
 public class BookingDtoResponse {
     Long id;
     LocalDateTime start;
@@ -19,6 +21,17 @@ public class BookingDtoResponse {
     Booker booker;
     Item item;
 
+    public BookingDtoResponse(Long id,
+                              LocalDateTime start,
+                              LocalDateTime end,
+                              Status status,
+                              Long bookerId,
+                              String bookerName,
+                              Long itemId,
+                              String itemName) {
+        this(id, start, end, status, new Booker(bookerId, bookerName), new Item(itemId, itemName));
+    }
+
     @Data
     @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
     public static class Booker {
@@ -9,9 +9,6 @@ import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BookingMapper {
     public static BookingDtoResponse mapToBookingDto(Booking booking) {
@@ -35,8 +32,4 @@ public class BookingMapper {
         booking.setUser(booker);
         return booking;
     }
-
-    public static List<BookingDtoResponse> mapToBookingDto(List<Booking> bookings) {
-        return bookings.stream().map(BookingMapper::mapToBookingDto).collect(Collectors.toList());
-    }
 }
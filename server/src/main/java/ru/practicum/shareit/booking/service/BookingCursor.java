@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.IncorrectCursor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Value
+class BookingCursor {
+    LocalDateTime start;
+    long id;
+
+    static BookingCursor parse(String after) {
+        int separator = after.lastIndexOf(',');
+        if (separator < 0) {
+            throw new IncorrectCursor(after);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(after.substring(0, separator).trim()),
+                    Long.parseLong(after.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IncorrectCursor(after);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingService {
     BookingDtoResponse save(BookingDtoRequest bookingDto, long userId);
@@ -12,7 +13,13 @@ public interface BookingService {
 
     BookingDtoResponse findById(long id, long userId);
 
+    Optional<String> findETag(long id, long userId);
+
     List<BookingDtoResponse> findAllByUserId(long userId, String status, int from, int size);
 
     List<BookingDtoResponse> findAllByOwnerId(long ownerId, String status, int from, int size);
+
+    List<BookingDtoResponse> findAllByUserIdAfter(long userId, String status, String after, int size);
+
+    List<BookingDtoResponse> findAllByOwnerIdAfter(long ownerId, String status, String after, int size);
 }
@@ -1,37 +1,50 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingBounds;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.OffsetPageRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.IncorrectIdException;
 import ru.practicum.shareit.exception.IncorrectState;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemCalendar;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Transactional(readOnly = true)
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start");
+    private static final Sort SORT_BY_START_DESC_ID_DESC = SORT_BY_START_DESC.and(Sort.by(Sort.Direction.DESC, "id"));
+    private static final int UPDATE_ATTEMPTS = 5;
 
     private final BookingRepository repository;
     private final ItemRepository itemRepo;
     private final UserRepository userRepo;
+    private final ItemCalendar calendar;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     @Override
@@ -40,24 +53,55 @@ public class BookingServiceImpl implements BookingService {
         User booker = userRepo.findById(userId).orElseThrow(IncorrectIdException::new);
         if (booker.getId() != userId || item.getUser().getId() == userId) {
             throw new IncorrectIdException();
-        } else if (item.getAvailable()) {
-            return BookingMapper
-                    .mapToBookingDto(repository
-                            .saveAndFlush(BookingMapper.mapToBooking(bookingDto, Status.WAITING, item, booker)));
-        } else {
+        } else if (!item.getAvailable()) {
             throw new UnavailableItemException();
+        } else if (overlapsApproved(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new BookingOverlapException(item.getId());
+        } else {
+            Booking booking = repository.save(BookingMapper.mapToBooking(bookingDto, Status.WAITING, item, booker));
+            long version = itemRepo.incrementBookingVersion(item.getId());
+            calendar.occupy(item.getId(), booking.getStart(), booking.getEnd(), version);
+            return BookingMapper.mapToBookingDto(booking);
         }
     }
 
-    @Transactional
+    /**
+     * Runs every attempt in its own transaction. A concurrent change of the same booking fails the
+     * booking version check, a concurrent decision for the same item fails the item version check;
+     * either way the attempt is retried against the committed state.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public BookingDtoResponse update(long id, long ownerId, boolean approved) {
-        Booking booking = repository.findById(id).orElseThrow(IncorrectIdException::new);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> changeStatus(id, ownerId, approved));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private BookingDtoResponse changeStatus(long id, long ownerId, boolean approved) {
+        Booking booking = repository.findWithItemAndUserById(id).orElseThrow(IncorrectIdException::new);
         if (booking.getItem().getUser().getId() != ownerId) {
             throw new IncorrectIdException();
         } else if (booking.getStatus().equals(Status.APPROVED)) {
             throw new UnavailableItemException();
-        } else if (approved) {
+        }
+        Item item = booking.getItem();
+        long itemId = item.getId();
+        if (itemRepo.incrementVersion(itemId, item.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Item.class, itemId);
+        }
+        long version = itemRepo.incrementBookingVersion(itemId);
+        if (approved) {
+            if (overlapsApproved(itemId, booking.getStart(), booking.getEnd())) {
+                throw new BookingOverlapException(itemId);
+            }
+            calendar.occupy(itemId, booking.getStart(), booking.getEnd(), version);
             booking.setStatus(Status.APPROVED);
         } else {
             booking.setStatus(Status.REJECTED);
@@ -71,78 +115,78 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.mapToBookingDto(repository.findByIdAndUserIdOrOwnerId(id, userId).orElseThrow(IncorrectIdException::new));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETag(long id, long userId) {
+        return repository.findVersionByIdAndUserIdOrOwnerId(id, userId).map(String::valueOf);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<BookingDtoResponse> findAllByUserId(long userId, String status, int from, int size) {
-        final State state = getState(status);
-        userRepo.findById(userId).orElseThrow(IncorrectIdException::new);
-        int pageNum = from / size;
-        Page<Booking> bookings;
-        switch (state) {
-            case ALL:
-                bookings = repository.findAllByUserId(userId, PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
-            case CURRENT:
-                bookings = repository.findAllByUserIdAndCurrentTime(userId,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
-            case PAST:
-                bookings = repository.findAllByUserIdAndEndBefore(userId,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
-            case FUTURE:
-                bookings = repository.findAllByUserIdAndStartAfter(userId,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
-            case WAITING:
-                bookings = repository.findAllByUserIdAndStatus(userId, Status.WAITING,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
-            case REJECTED:
-                bookings = repository.findAllByUserIdAndStatus(userId, Status.REJECTED,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
-            default:
-                throw new IncorrectState();
-        }
-        return BookingMapper.mapToBookingDto(bookings.getContent());
+        BookingBounds bounds = getBounds(getState(status));
+        return checkUserIfEmpty(repository.findAllByUserId(userId, bounds,
+                OffsetPageRequest.of(from, size, SORT_BY_START_DESC_ID_DESC)), userId);
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<BookingDtoResponse> findAllByOwnerId(long ownerId, String status, int from, int size) {
-        final State state = getState(status);
-        userRepo.findById(ownerId).orElseThrow(IncorrectIdException::new);
-        int pageNum = from / size;
-        Page<Booking> bookings;
+        BookingBounds bounds = getBounds(getState(status));
+        return checkUserIfEmpty(repository.findAllByOwnerId(ownerId, bounds,
+                OffsetPageRequest.of(from, size, SORT_BY_START_DESC_ID_DESC)), ownerId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookingDtoResponse> findAllByUserIdAfter(long userId, String status, String after, int size) {
+        BookingBounds bounds = getBounds(getState(status));
+        BookingCursor cursor = BookingCursor.parse(after);
+        return checkUserIfEmpty(repository.findAllByUserId(userId, bounds.after(cursor.getStart(), cursor.getId()),
+                PageRequest.of(0, size, SORT_BY_START_DESC_ID_DESC)), userId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookingDtoResponse> findAllByOwnerIdAfter(long ownerId, String status, String after, int size) {
+        BookingBounds bounds = getBounds(getState(status));
+        BookingCursor cursor = BookingCursor.parse(after);
+        return checkUserIfEmpty(repository.findAllByOwnerId(ownerId, bounds.after(cursor.getStart(), cursor.getId()),
+                PageRequest.of(0, size, SORT_BY_START_DESC_ID_DESC)), ownerId);
+    }
+
+    /**
+     * Approved bookings of one item never overlap, so only the latest one starting before {@code end}
+     * can intersect {@code [start, end)}. That is a single seek on {@code (item_id, status, start)}.
+     */
+    private boolean overlapsApproved(long itemId, LocalDateTime start, LocalDateTime end) {
+        return repository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(itemId, Status.APPROVED, end)
+                .map(booking -> booking.getEnd().isAfter(start))
+                .orElse(false);
+    }
+
+    /**
+     * Both the booker's and the owner's list page by start and id descending, so bookings that start at
+     * the same time keep one order and an offset never skips or repeats one of them.
+     */
+    private BookingBounds getBounds(State state) {
+        LocalDateTime now = LocalDateTime.now();
         switch (state) {
             case ALL:
-                bookings = repository.findAllByOwnerId(ownerId, PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
+                return BookingBounds.ALL;
             case CURRENT:
-                bookings = repository.findAllByOwnerIdAndCurrentTime(ownerId,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
+                return BookingBounds.ALL.withStartUntil(now).withEndFrom(now);
             case PAST:
-                bookings = repository.findAllByOwnerIdAndEndBefore(ownerId,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
+                return BookingBounds.ALL.withEndBefore(now);
             case FUTURE:
-                bookings = repository.findAllByOwnerIdAndStartAfter(ownerId,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
+                return BookingBounds.ALL.withStartAfter(now);
             case WAITING:
-                bookings = repository.findAllByOwnerIdAndStatus(ownerId, Status.WAITING,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
+                return BookingBounds.ALL.withStatus(Status.WAITING);
             case REJECTED:
-                bookings = repository.findAllByOwnerIdAndStatus(ownerId, Status.REJECTED,
-                        PageRequest.of(pageNum, size, SORT_BY_START_DESC));
-                break;
+                return BookingBounds.ALL.withStatus(Status.REJECTED);
             default:
                 throw new IncorrectState();
         }
-        return BookingMapper.mapToBookingDto(bookings.getContent());
     }
 
     private State getState(String state) {
@@ -152,4 +196,22 @@ public class BookingServiceImpl implements BookingService {
             throw new IncorrectState();
         }
     }
+
+    /**
+     * A booking refers to its booker and, through the item, to the owner, so a non-empty page
+     * already proves that the user exists and the list takes one statement. Only an empty page
+     * needs the separate check that tells an unknown user from one without bookings.
+     */
+    private List<BookingDtoResponse> checkUserIfEmpty(List<BookingDtoResponse> bookings, long userId) {
+        if (bookings.isEmpty()) {
+            checkUser(userId);
+        }
+        return bookings;
+    }
+
+    private void checkUser(long userId) {
+        if (!userRepo.existsById(userId)) {
+            throw new IncorrectIdException();
+        }
+    }
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BookingOverlapException extends RuntimeException {
+    public BookingOverlapException(long itemId) {
+        super("Item " + itemId + " is already booked for this period");
+    }
+}
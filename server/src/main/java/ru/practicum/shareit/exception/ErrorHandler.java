@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,12 +25,31 @@ public class ErrorHandler {
         return new ResponseEntity<>(Map.of("error", "Unknown state: UNSUPPORTED_STATUS"), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleIncorrectCursor(IncorrectCursor e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(Map.of("error", e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler
     public ResponseEntity<String> handleUnavailableItem(UnavailableItemException e) {
         log.error("item is unavailable {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleBookingOverlap(BookingOverlapException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(Map.of("error", e.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleConcurrencyFailure(ConcurrencyFailureException e) {
+        log.error("Concurrent update {}", e.getMessage());
+        return new ResponseEntity<>(Map.of("error", "The resource was changed concurrently, retry the request"),
+                HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler
     public ResponseEntity<String> handleIncorrectId(IncorrectIdException e) {
         log.error("Неверный id {}", e.getMessage());
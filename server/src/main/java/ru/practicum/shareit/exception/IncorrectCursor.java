@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class IncorrectCursor extends RuntimeException {
+    public IncorrectCursor(String cursor) {
+        super("Incorrect cursor: " + cursor);
+    }
+}
@@ -1,20 +1,35 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final ItemService service;
+    private final ObjectMapper objectMapper;
 
     @PostMapping()
     public ItemDtoResponse save(@RequestBody ItemDtoRequest itemDto,
@@ -22,6 +37,29 @@ public class ItemController {
         return service.save(itemDto, userId);
     }
 
+    /**
+     * Reads a JSON array or NDJSON body row by row and saves it in chunks,
+     * so only one chunk of items is held in memory at a time.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<ItemBulkResult> saveAll(HttpServletRequest request,
+                                        @RequestHeader(name = "X-Sharer-User-Id") long userId) throws IOException {
+        List<ItemBulkResult> results = new ArrayList<>();
+        List<ItemDtoRequest> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        try (MappingIterator<ItemDtoRequest> items = objectMapper
+                .readerFor(ItemDtoRequest.class)
+                .readValues(request.getInputStream())) {
+            while (items.hasNextValue()) {
+                chunk.add(items.nextValue());
+                if (chunk.size() == BULK_CHUNK_SIZE) {
+                    saveChunk(chunk, userId, results);
+                }
+            }
+        }
+        saveChunk(chunk, userId, results);
+        return results;
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDtoResponse saveComment(@RequestBody CommentDtoRequest commentDto,
                                           @PathVariable long itemId,
@@ -36,12 +74,31 @@ public class ItemController {
         return service.update(itemDto, id, userId);
     }
 
+    /**
+     * Answers {@code 304 Not Modified} from the item version alone when the client already has the current
+     * page, before comments and bookings are loaded.
+     */
     @GetMapping("/{itemId}")
     public ItemDtoResponse findById(@PathVariable(name = "itemId") long id,
-                                    @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+                                    @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                    WebRequest request) {
+        Optional<String> etag = service.findETag(id, userId);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
         return service.findById(id, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<FreeSlotDto> findAvailability(@PathVariable(name = "itemId") long id,
+                                              @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                              LocalDateTime from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                              LocalDateTime to) {
+        return service.findAvailability(id, from, to);
+    }
+
     @GetMapping()
     public List<ItemDtoResponse> findAll(@RequestHeader(name = "X-Sharer-User-Id") long userId,
                                          @RequestParam() int from,
@@ -56,4 +113,16 @@ public class ItemController {
                                         @RequestParam() int size) {
         return service.search(userId, text, from, size);
     }
+
+    private void saveChunk(List<ItemDtoRequest> chunk, long userId, List<ItemBulkResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int offset = results.size();
+        for (ItemBulkResult result : service.saveAll(List.copyOf(chunk), userId)) {
+            result.setIndex(offset + result.getIndex());
+            results.add(result);
+        }
+        chunk.clear();
+    }
 }
@@ -1,12 +1,20 @@
 package ru.practicum.shareit.item.dao;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "user")
     List<Comment> findByItemIn(List<Item> items, Sort sort);
+
+    @Query("select new ru.practicum.shareit.item.dao.ItemComment(c.item.id, c.id, c.text, c.user.name, c.created) " +
+            "from Comment c " +
+            "where c.item.id in ?1")
+    List<ItemComment> findByItemIdIn(List<Long> itemIds, Sort sort);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dao;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ItemBooking {
+    Long itemId;
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    Long bookerId;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dao;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+public class ItemComment {
+    Long itemId;
+    Long id;
+    String text;
+    String authorName;
+    Instant created;
+}
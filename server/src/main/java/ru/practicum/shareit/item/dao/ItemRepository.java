@@ -2,19 +2,75 @@ package ru.practicum.shareit.item.dao;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
+    String SELECT_ITEM_DTO = "select new ru.practicum.shareit.item.dto.ItemDtoResponse(" +
+            "i.id, i.name, i.description, i.available, i.itemRequest.id) ";
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findItemsByUserId(long userId);
 
-    List<Item> findItemsByUserId(long userId, Pageable pageable);
+    @Query(SELECT_ITEM_DTO +
+            "from Item i " +
+            "where i.user.id = ?1")
+    List<ItemDtoResponse> findItemsByUserId(long userId, Pageable pageable);
 
-    List<Item> findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(String text1, String text2);
+    @Query(SELECT_ITEM_DTO +
+            "from Item i " +
+            "where i.id in ?1")
+    List<ItemDtoResponse> findItemsByIdIn(List<Long> ids);
 
-    List<Item> findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(String text1, String text2, Pageable pageable);
+    @Query(SELECT_ITEM_DTO +
+            "from Item i " +
+            "where i.available = true " +
+            "and (upper(i.name) like upper(?#{'%' + escape([0]) + '%'}) escape ?#{escapeCharacter()} " +
+            "or upper(i.description) like upper(?#{'%' + escape([0]) + '%'}) escape ?#{escapeCharacter()})")
+    List<ItemDtoResponse> findAvailableByText(String text, Pageable pageable);
 
     List<Item> findAllByItemRequestIn(List<ItemRequest> itemRequest);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDtoResponse$ItemDto(" +
+            "i.id, i.name, i.description, i.available, i.itemRequest.id) " +
+            "from Item i " +
+            "where i.itemRequest.id in ?1")
+    List<ItemRequestDtoResponse.ItemDto> findItemsByItemRequestIdIn(List<Long> itemRequestIds);
+
+    /**
+     * Everything the item page depends on besides the item version: a counter that grows with every comment
+     * and every rename of a comment author, the counter of changes to the item's bookings, and the start of
+     * the next booking, when the owner starts to see another last and next booking. The booking counter is
+     * a primary key lookup, and bumping it never locks the item row.
+     */
+    @Query("select i.user.id as ownerId, i.version as version, " +
+            "(select count(c.id) + coalesce(sum(a.version), 0) from Comment c join c.user a where c.item = i) " +
+            "as comments, " +
+            "(select s.version from ItemBookingState s where s.itemId = i.id) as bookings, " +
+            "(select min(b.start) from Booking b where b.item = i and b.status <> ?2 and b.start > ?3) as nextStart " +
+            "from Item i " +
+            "where i.id = ?1")
+    Optional<ItemVersion> findVersionById(long id, Status rejected, LocalDateTime now);
+
+    @Query("select s.version from ItemBookingState s where s.itemId = ?1")
+    Optional<Long> findBookingVersionById(long id);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select i.id as id, i.name as name, i.description as description " +
+            "from Item i " +
+            "where i.available = true " +
+            "order by i.id")
+    Stream<ItemText> streamAvailableText();
 }
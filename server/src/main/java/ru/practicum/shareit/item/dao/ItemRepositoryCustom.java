@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dao;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+    int incrementVersion(long id, long version);
+
+    void createBookingStates(List<Long> ids);
+
+    /**
+     * Bumps the counter of changes to the item's bookings and returns its new value; the row stays
+     * locked until the transaction ends, so the value read back is this transaction's own.
+     */
+    long incrementBookingVersion(long id);
+}
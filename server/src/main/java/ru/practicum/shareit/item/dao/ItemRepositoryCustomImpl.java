@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.List;
+
+import static ru.practicum.shareit.TransactionHooks.afterCommit;
+
+/**
+ * Bumps the item version with a native update bound to its own query space. A bulk JPQL update
+ * would evict the whole items cache region on every booking change, here only the changed item is
+ * evicted: right away and once more after commit, so that a concurrent read can not put the
+ * old version back.
+ * <p>
+ * The booking counters live in {@code item_booking_states}, which no cached entity maps, so their
+ * statements are bound to a query space of their own and evict nothing.
+ */
+@RequiredArgsConstructor
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    private static final String VERSION_QUERY_SPACE = "items_version";
+    private static final String BOOKING_STATE_QUERY_SPACE = "item_booking_states";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int incrementVersion(long id, long version) {
+        return execute(entityManager
+                .createNativeQuery("update items set version = version + 1 where id = ?1 and version = ?2")
+                .setParameter(2, version), id);
+    }
+
+    /**
+     * Flushes first: the new items are still pending, and a statement bound to its own query space
+     * does not flush them.
+     */
+    @Override
+    public void createBookingStates(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.createNativeQuery("insert into item_booking_states (item_id) select id from items where id in ?1")
+                .setParameter(1, ids)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(BOOKING_STATE_QUERY_SPACE)
+                .executeUpdate();
+    }
+
+    @Override
+    public long incrementBookingVersion(long id) {
+        entityManager.createNativeQuery("update item_booking_states set version = version + 1 where item_id = ?1")
+                .setParameter(1, id)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(BOOKING_STATE_QUERY_SPACE)
+                .executeUpdate();
+        return entityManager.createQuery("select s.version from ItemBookingState s where s.itemId = ?1", Long.class)
+                .setParameter(1, id)
+                .getResultStream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private int execute(Query query, long id) {
+        int updated = query
+                .setParameter(1, id)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(VERSION_QUERY_SPACE)
+                .executeUpdate();
+        if (updated > 0) {
+            evict(id);
+        }
+        return updated;
+    }
+
+    private void evict(long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Item.class, id);
+        afterCommit(() -> cache.evict(Item.class, id));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dao;
+
+import java.time.LocalDateTime;
+
+public interface ItemVersion {
+    Long getOwnerId();
+
+    Long getVersion();
+
+    Long getComments();
+
+    Long getBookings();
+
+    LocalDateTime getNextStart();
+}
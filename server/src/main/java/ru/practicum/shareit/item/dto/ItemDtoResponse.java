@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.dto;
 
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
@@ -11,6 +12,7 @@ import java.util.List;
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Builder
+@AllArgsConstructor
 public class ItemDtoResponse {
     Long id;
     String name;
@@ -21,6 +23,14 @@ public class ItemDtoResponse {
     BookingDto nextBooking;
     Long requestId;
 
+    public ItemDtoResponse(Long id, String name, String description, Boolean available, Long requestId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.requestId = requestId;
+    }
+
     @Data
     @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
     public static class BookingDto {
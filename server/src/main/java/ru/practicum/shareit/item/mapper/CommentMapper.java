@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.mapper;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.dao.ItemComment;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.model.Comment;
@@ -24,6 +25,16 @@ public class CommentMapper {
                 .build();
     }
 
+    public static CommentDtoResponse mapToCommentDto(ItemComment comment) {
+        return CommentDtoResponse
+                .builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .authorName(comment.getAuthorName())
+                .created(comment.getCreated())
+                .build();
+    }
+
     public static Comment mapToComment(CommentDtoRequest commentDto, Item item, User user) {
         Comment comment = new Comment();
         comment.setId(commentDto.getId());
@@ -3,6 +3,8 @@ package ru.practicum.shareit.item.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dao.ItemBooking;
+import ru.practicum.shareit.item.dao.ItemComment;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.model.Comment;
@@ -42,8 +44,24 @@ public class ItemMapper {
         return itemDto;
     }
 
-    public static ItemDtoResponse mapToItemDto(Item item, List<Comment> comments, List<Booking> bookings) {
+    public static ItemDtoResponse mapToItemDto(Item item,
+                                               List<Comment> comments,
+                                               Booking lastBooking,
+                                               Booking nextBooking) {
         ItemDtoResponse itemDto = mapToItemDto(item, comments);
+        itemDto.setLastBooking(mapToBookingDto(lastBooking));
+        itemDto.setNextBooking(mapToBookingDto(nextBooking));
+        return itemDto;
+    }
+
+    public static ItemDtoResponse mapToItemDto(ItemDtoResponse itemDto,
+                                               List<ItemComment> comments,
+                                               List<ItemBooking> bookings) {
+        if (comments != null && !comments.isEmpty()) {
+            itemDto.setComments(comments.stream().map(CommentMapper::mapToCommentDto).collect(Collectors.toList()));
+        } else {
+            itemDto.setComments(Collections.emptyList());
+        }
         if (bookings != null && !bookings.isEmpty()) {
             itemDto.setLastBooking(mapToBookingDto(bookings.stream()
                     .filter(b -> !b.getStart().isAfter(LocalDateTime.now()))
@@ -55,12 +73,12 @@ public class ItemMapper {
         return itemDto;
     }
 
-    public static List<ItemDtoResponse> mapToItemDto(List<Item> items,
-                                                     Map<Item, List<Comment>> comments,
-                                                     Map<Item, List<Booking>> bookings) {
+    public static List<ItemDtoResponse> mapToItemDto(List<ItemDtoResponse> items,
+                                                     Map<Long, List<ItemComment>> comments,
+                                                     Map<Long, List<ItemBooking>> bookings) {
         return items
                 .stream()
-                .map(i -> mapToItemDto(i, comments.get(i), bookings.get(i)))
+                .map(i -> mapToItemDto(i, comments.get(i.getId()), bookings.get(i.getId())))
                 .sorted(Comparator.comparing(ItemDtoResponse::getId))
                 .collect(Collectors.toList());
     }
@@ -75,6 +93,15 @@ public class ItemMapper {
         return item;
     }
 
+    private static ItemDtoResponse.BookingDto mapToBookingDto(ItemBooking booking) {
+        if (booking == null) {
+            return null;
+        } else {
+            return new ItemDtoResponse
+                    .BookingDto(booking.getId(), booking.getStart(), booking.getEnd(), booking.getBookerId());
+        }
+    }
+
     private static ItemDtoResponse.BookingDto mapToBookingDto(Booking booking) {
         if (booking == null) {
             return null;
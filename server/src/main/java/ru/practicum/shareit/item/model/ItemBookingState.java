@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Counter of the changes to the bookings of one item, kept in its own row so that booking an item never
+ * locks the item row. Only read through queries; rows are created and bumped with native statements
+ * in {@code ItemRepositoryCustomImpl}.
+ */
+@Getter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Immutable
+@Entity
+@Table(name = "item_booking_states")
+public class ItemBookingState {
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+    @Column
+    Long version;
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dao.ItemBooking;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.shareit.TransactionHooks.afterCommit;
+
+/**
+ * Least recently used cache of item calendars. A calendar holds the waiting and approved bookings
+ * of one item merged into disjoint busy periods sorted by start, so free slots inside a window are
+ * found with a binary search plus a walk over the periods intersecting the window.
+ * <p>
+ * The cache is per process, and other instances book the same items, so every calendar carries
+ * the item's booking version and is only served while the version in the database is the same.
+ * That costs one primary key lookup per read instead of loading the bookings.
+ */
+@Component
+public class ItemCalendar {
+    private static final List<Status> BUSY = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepo;
+    private final ItemRepository itemRepo;
+    private final Map<Long, Periods> calendars;
+
+    public ItemCalendar(BookingRepository bookingRepo, ItemRepository itemRepo,
+                        @Value("${shareit.item-calendar.max-items:10000}") int maxItems) {
+        this.bookingRepo = bookingRepo;
+        this.itemRepo = itemRepo;
+        this.calendars = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Periods> eldest) {
+                return size() > maxItems;
+            }
+        };
+    }
+
+    /**
+     * Reads the version before the bookings: a booking committed in between is then loaded under
+     * the older version, and the next read reloads it once more rather than missing it.
+     */
+    public List<FreeSlotDto> findFree(long itemId, LocalDateTime from, LocalDateTime to) {
+        long version = itemRepo.findBookingVersionById(itemId).orElse(0L);
+        Periods periods;
+        synchronized (this) {
+            periods = calendars.get(itemId);
+        }
+        if (periods == null || periods.version != version) {
+            periods = Periods.of(version, bookingRepo.findByItemIdAndStatusIn(itemId, BUSY));
+            synchronized (this) {
+                Periods cached = calendars.get(itemId);
+                if (cached == null || cached.version < version) {
+                    calendars.put(itemId, periods);
+                }
+            }
+        }
+        return periods.free(from, to);
+    }
+
+    /**
+     * Merges a period that became busy into the cached calendar once the transaction commits, if the
+     * calendar is exactly one booking change behind; otherwise the next read reloads it. A freed
+     * period needs no call: merged periods can not be split, so the version check reloads it.
+     */
+    public void occupy(long itemId, LocalDateTime start, LocalDateTime end, long version) {
+        afterCommit(() -> {
+            synchronized (this) {
+                Periods periods = calendars.get(itemId);
+                if (periods != null && periods.version == version - 1) {
+                    calendars.put(itemId, periods.with(start, end, version));
+                }
+            }
+        });
+    }
+
+    /**
+     * Immutable, so a read walks the arrays without holding the lock. The price is that adding a
+     * period copies them, which is linear in the number of periods. Bookings that touch or overlap
+     * merge into one period, and the copy is still far cheaper than the reload it saves.
+     */
+    static final class Periods {
+        private final long version;
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] ends;
+
+        private Periods(long version, List<LocalDateTime> starts, List<LocalDateTime> ends) {
+            this.version = version;
+            this.starts = starts.toArray(LocalDateTime[]::new);
+            this.ends = ends.toArray(LocalDateTime[]::new);
+        }
+
+        static Periods of(long version, List<ItemBooking> bookingsByStart) {
+            Merger merger = new Merger(bookingsByStart.size());
+            for (ItemBooking booking : bookingsByStart) {
+                merger.append(booking.getStart(), booking.getEnd());
+            }
+            return merger.build(version);
+        }
+
+        Periods with(LocalDateTime start, LocalDateTime end, long version) {
+            Merger merger = new Merger(starts.length + 1);
+            boolean added = false;
+            for (int i = 0; i < starts.length; i++) {
+                if (!added && start.isBefore(starts[i])) {
+                    merger.append(start, end);
+                    added = true;
+                }
+                merger.append(starts[i], ends[i]);
+            }
+            if (!added) {
+                merger.append(start, end);
+            }
+            return merger.build(version);
+        }
+
+        List<FreeSlotDto> free(LocalDateTime from, LocalDateTime to) {
+            List<FreeSlotDto> slots = new ArrayList<>();
+            LocalDateTime cursor = from;
+            for (int i = firstEndingAfter(from); i < starts.length && starts[i].isBefore(to); i++) {
+                if (starts[i].isAfter(cursor)) {
+                    slots.add(new FreeSlotDto(cursor, starts[i]));
+                }
+                cursor = ends[i];
+            }
+            if (cursor.isBefore(to)) {
+                slots.add(new FreeSlotDto(cursor, to));
+            }
+            return slots;
+        }
+
+        private int firstEndingAfter(LocalDateTime time) {
+            int low = 0;
+            int high = ends.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ends[middle].isAfter(time)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class Merger {
+        private final List<LocalDateTime> starts;
+        private final List<LocalDateTime> ends;
+
+        Merger(int capacity) {
+            starts = new ArrayList<>(capacity);
+            ends = new ArrayList<>(capacity);
+        }
+
+        void append(LocalDateTime start, LocalDateTime end) {
+            int last = ends.size() - 1;
+            if (last >= 0 && !start.isAfter(ends.get(last))) {
+                if (end.isAfter(ends.get(last))) {
+                    ends.set(last, end);
+                }
+            } else {
+                starts.add(start);
+                ends.add(end);
+            }
+        }
+
+        Periods build(long version) {
+            return new Periods(version, starts, ends);
+        }
+    }
+}
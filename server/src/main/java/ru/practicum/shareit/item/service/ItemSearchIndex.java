@@ -0,0 +1,438 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dao.ItemText;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.TransactionHooks.afterCommit;
+
+/**
+ * In-memory trigram index over the name and description of available items.
+ * <p>
+ * The index is an immutable snapshot of primitive arrays: sorted trigrams, their postings laid out
+ * back to back in one int array, and the folded text of every item for the final substring check.
+ * Searches read the current snapshot without locking. Updates go to a small copy-on-write overlay
+ * that is merged into a new snapshot once it grows, and a rebuild streams the items into a new
+ * snapshot while the old one keeps answering, then swaps it in.
+ * <p>
+ * Text is upper-cased one character at a time, as Postgres {@code upper()} does, so {@code ß} stays
+ * {@code ß}. A query with a character whose upper case is not a single character is left to the
+ * database, whose collation decides what it matches.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+    private static final char SEPARATOR = '\0';
+    private static final int MAX_CHANGES = 1024;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int STRING_BYTES = 24;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final ItemRepository repository;
+    private final boolean enabled;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(Base.EMPTY, Changes.EMPTY, false);
+    private boolean rebuilding;
+
+    public ItemSearchIndex(ItemRepository repository,
+                           @Value("${shareit.item-search.index-enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Builds a new snapshot from the database without blocking searches or updates. Updates that
+     * arrive meanwhile stay in the overlay and are applied on top of the new snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            rebuilding = true;
+        }
+        try {
+            Base base;
+            try (Stream<ItemText> items = repository.streamAvailableText()) {
+                Documents documents = new Documents();
+                items.forEach(i -> documents.add(Math.toIntExact(i.getId()),
+                        document(i.getName(), i.getDescription())));
+                base = Base.build(documents.ids, documents.texts, documents.size);
+            }
+            synchronized (writeLock) {
+                snapshot = new Snapshot(base, snapshot.changes, true);
+            }
+        } finally {
+            synchronized (writeLock) {
+                rebuilding = false;
+            }
+        }
+        log.info("Item search index is built: {}", footprint());
+    }
+
+    public void update(Item item) {
+        if (!enabled) {
+            return;
+        }
+        int id = Math.toIntExact(item.getId());
+        String text = Boolean.TRUE.equals(item.getAvailable())
+                ? document(item.getName(), item.getDescription())
+                : null;
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                Snapshot current = snapshot;
+                Changes changes = current.changes.with(id, text);
+                snapshot = !rebuilding && changes.size > MAX_CHANGES
+                        ? new Snapshot(current.base.merge(changes), Changes.EMPTY, current.ready)
+                        : new Snapshot(current.base, changes, current.ready);
+            }
+        });
+    }
+
+    /**
+     * Returns ids of available items containing the text in ascending order, or an empty
+     * optional when the index can not answer and the caller has to query the database.
+     */
+    public Optional<List<Long>> search(String text, int offset, int limit) {
+        Snapshot current = snapshot;
+        if (!current.ready || text.length() < GRAM || !isFoldable(text)) {
+            return Optional.empty();
+        }
+        String query = fold(text);
+        Base base = current.base;
+        Changes changes = current.changes;
+        int[] candidates = base.candidates(grams(query));
+        List<Long> result = new ArrayList<>();
+        int skipped = 0;
+        int i = 0;
+        int j = 0;
+        while (result.size() < limit && (i < candidates.length || j < changes.size)) {
+            long baseId = i < candidates.length ? base.ids[candidates[i]] : Long.MAX_VALUE;
+            long changedId = j < changes.size ? changes.ids[j] : Long.MAX_VALUE;
+            boolean matches;
+            long id;
+            if (changedId <= baseId) {
+                id = changedId;
+                matches = changes.texts[j] != null && changes.texts[j].contains(query);
+                j++;
+                if (changedId == baseId) {
+                    i++;
+                }
+            } else {
+                id = baseId;
+                matches = base.texts[candidates[i]].contains(query);
+                i++;
+            }
+            if (matches) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    result.add(id);
+                }
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Reports the size of the index. Byte counts are estimates of the retained heap, assuming
+     * compressed references, 16 byte array headers and compact strings.
+     */
+    public Map<String, Object> footprint() {
+        Snapshot current = snapshot;
+        Base base = current.base;
+        Changes changes = current.changes;
+        int items = base.ids.length;
+        long changesBytes = 2L * ARRAY_HEADER_BYTES + (long) changes.ids.length * (Integer.BYTES + REFERENCE_BYTES);
+        for (int i = 0; i < changes.size; i++) {
+            boolean indexed = Arrays.binarySearch(base.ids, changes.ids[i]) >= 0;
+            if (changes.texts[i] != null) {
+                items += indexed ? 0 : 1;
+                changesBytes += stringBytes(changes.texts[i]);
+            } else {
+                items -= indexed ? 1 : 0;
+            }
+        }
+        long documentBytes = 2L * ARRAY_HEADER_BYTES + (long) base.ids.length * (Integer.BYTES + REFERENCE_BYTES);
+        for (String text : base.texts) {
+            documentBytes += stringBytes(text);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("ready", current.ready);
+        report.put("items", items);
+        report.put("grams", base.grams.length);
+        report.put("postings", base.postings.length);
+        report.put("postingsBytes", 3L * ARRAY_HEADER_BYTES + (long) base.grams.length * Long.BYTES
+                + (long) base.offsets.length * Integer.BYTES + (long) base.postings.length * Integer.BYTES);
+        report.put("documentBytes", documentBytes);
+        report.put("changes", changes.size);
+        report.put("changesBytes", changesBytes);
+        return report;
+    }
+
+    /**
+     * Name and description in one string. Postgres text can not contain the separator, so a query
+     * never matches across the two.
+     */
+    private static String document(String name, String description) {
+        return fold(name) + SEPARATOR + fold(description);
+    }
+
+    private static boolean isFoldable(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == SEPARATOR || String.valueOf(c).toUpperCase(Locale.ROOT).length() != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toUpperCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Distinct trigrams of the text in ascending order, skipping those that span the separator.
+     */
+    private static long[] grams(String text) {
+        long[] grams = new long[Math.max(0, text.length() - GRAM + 1)];
+        int n = 0;
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            char a = text.charAt(i);
+            char b = text.charAt(i + 1);
+            char c = text.charAt(i + 2);
+            if (a != SEPARATOR && b != SEPARATOR && c != SEPARATOR) {
+                grams[n++] = ((long) a << 32) | ((long) b << 16) | c;
+            }
+        }
+        return distinct(grams, n);
+    }
+
+    private static long[] distinct(long[] values, int size) {
+        Arrays.sort(values, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                values[distinct++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, distinct);
+    }
+
+    private static long stringBytes(String text) {
+        boolean latin1 = text.chars().allMatch(c -> c <= 0xFF);
+        return STRING_BYTES + ARRAY_HEADER_BYTES + (long) text.length() * (latin1 ? 1 : 2);
+    }
+
+    private static final class Snapshot {
+        private final Base base;
+        private final Changes changes;
+        private final boolean ready;
+
+        private Snapshot(Base base, Changes changes, boolean ready) {
+            this.base = base;
+            this.changes = changes;
+            this.ready = ready;
+        }
+    }
+
+    /**
+     * Immutable index over items sorted by id. The postings of {@code grams[k]} are the positions
+     * {@code postings[offsets[k]..offsets[k + 1])} in {@code ids} and {@code texts}, in ascending order.
+     */
+    private static final class Base {
+        private static final Base EMPTY = new Base(new int[0], new String[0], new long[0], new int[1], new int[0]);
+
+        private final int[] ids;
+        private final String[] texts;
+        private final long[] grams;
+        private final int[] offsets;
+        private final int[] postings;
+
+        private Base(int[] ids, String[] texts, long[] grams, int[] offsets, int[] postings) {
+            this.ids = ids;
+            this.texts = texts;
+            this.grams = grams;
+            this.offsets = offsets;
+            this.postings = postings;
+        }
+
+        private static Base build(int[] ids, String[] texts, int size) {
+            long[] all = new long[1024];
+            int count = 0;
+            int compacted = 0;
+            for (int i = 0; i < size; i++) {
+                long[] grams = grams(texts[i]);
+                if (count + grams.length > all.length) {
+                    if (count > 2 * compacted) {
+                        long[] distinct = distinct(all, count);
+                        System.arraycopy(distinct, 0, all, 0, distinct.length);
+                        count = compacted = distinct.length;
+                    }
+                    if (count + grams.length > all.length) {
+                        all = Arrays.copyOf(all, Math.max(all.length * 2, count + grams.length));
+                    }
+                }
+                System.arraycopy(grams, 0, all, count, grams.length);
+                count += grams.length;
+            }
+            long[] keys = distinct(all, count);
+
+            int[] offsets = new int[keys.length + 1];
+            for (int i = 0; i < size; i++) {
+                for (long gram : grams(texts[i])) {
+                    offsets[Arrays.binarySearch(keys, gram) + 1]++;
+                }
+            }
+            for (int k = 0; k < keys.length; k++) {
+                offsets[k + 1] += offsets[k];
+            }
+            int[] postings = new int[offsets[keys.length]];
+            int[] next = Arrays.copyOf(offsets, keys.length);
+            for (int i = 0; i < size; i++) {
+                for (long gram : grams(texts[i])) {
+                    postings[next[Arrays.binarySearch(keys, gram)]++] = i;
+                }
+            }
+            return new Base(Arrays.copyOf(ids, size), Arrays.copyOf(texts, size), keys, offsets, postings);
+        }
+
+        /**
+         * Positions of the items that contain every gram, in ascending order.
+         */
+        private int[] candidates(long[] queryGrams) {
+            int[] lists = new int[queryGrams.length];
+            for (int i = 0; i < queryGrams.length; i++) {
+                lists[i] = Arrays.binarySearch(grams, queryGrams[i]);
+                if (lists[i] < 0) {
+                    return new int[0];
+                }
+            }
+            int smallest = 0;
+            for (int i = 1; i < lists.length; i++) {
+                if (length(lists[i]) < length(lists[smallest])) {
+                    smallest = i;
+                }
+            }
+            int[] candidates = Arrays.copyOfRange(postings, offsets[lists[smallest]], offsets[lists[smallest] + 1]);
+            int count = candidates.length;
+            for (int i = 0; i < lists.length && count > 0; i++) {
+                if (i == smallest) {
+                    continue;
+                }
+                int kept = 0;
+                for (int j = 0; j < count; j++) {
+                    if (Arrays.binarySearch(postings, offsets[lists[i]], offsets[lists[i] + 1], candidates[j]) >= 0) {
+                        candidates[kept++] = candidates[j];
+                    }
+                }
+                count = kept;
+            }
+            return Arrays.copyOf(candidates, count);
+        }
+
+        private int length(int gram) {
+            return offsets[gram + 1] - offsets[gram];
+        }
+
+        private Base merge(Changes changes) {
+            Documents documents = new Documents();
+            int i = 0;
+            int j = 0;
+            while (i < ids.length || j < changes.size) {
+                long id = i < ids.length ? ids[i] : Long.MAX_VALUE;
+                long changedId = j < changes.size ? changes.ids[j] : Long.MAX_VALUE;
+                if (changedId <= id) {
+                    if (changes.texts[j] != null) {
+                        documents.add(changes.ids[j], changes.texts[j]);
+                    }
+                    j++;
+                    if (changedId == id) {
+                        i++;
+                    }
+                } else {
+                    documents.add(ids[i], texts[i]);
+                    i++;
+                }
+            }
+            return build(documents.ids, documents.texts, documents.size);
+        }
+    }
+
+    /**
+     * Immutable overlay of items changed since the base was built, sorted by id. A {@code null} text
+     * means the item is no longer available.
+     */
+    private static final class Changes {
+        private static final Changes EMPTY = new Changes(new int[0], new String[0]);
+
+        private final int[] ids;
+        private final String[] texts;
+        private final int size;
+
+        private Changes(int[] ids, String[] texts) {
+            this.ids = ids;
+            this.texts = texts;
+            this.size = ids.length;
+        }
+
+        private Changes with(int id, String text) {
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos >= 0) {
+                String[] newTexts = texts.clone();
+                newTexts[pos] = text;
+                return new Changes(ids, newTexts);
+            }
+            pos = -pos - 1;
+            int[] newIds = new int[size + 1];
+            String[] newTexts = new String[size + 1];
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(texts, 0, newTexts, 0, pos);
+            newIds[pos] = id;
+            newTexts[pos] = text;
+            System.arraycopy(ids, pos, newIds, pos + 1, size - pos);
+            System.arraycopy(texts, pos, newTexts, pos + 1, size - pos);
+            return new Changes(newIds, newTexts);
+        }
+    }
+
+    /**
+     * Growable id and text arrays for building a base.
+     */
+    private static final class Documents {
+        private int[] ids = new int[1024];
+        private String[] texts = new String[1024];
+        private int size;
+
+        private void add(int id, String text) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                texts = Arrays.copyOf(texts, size * 2);
+            }
+            ids[size] = id;
+            texts[size] = text;
+            size++;
+        }
+    }
+}
@@ -2,21 +2,31 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemService {
     ItemDtoResponse save(ItemDtoRequest itemDto, long userId);
 
+    List<ItemBulkResult> saveAll(List<ItemDtoRequest> itemDtos, long userId);
+
     CommentDtoResponse saveComment(CommentDtoRequest commentDto, long itemId, long userId);
 
     ItemDtoResponse update(ItemDtoRequest itemDto, long id, long userId);
 
     ItemDtoResponse findById(long id, long userId);
 
+    Optional<String> findETag(long id, long userId);
+
     List<ItemDtoResponse> findAll(long userId, int from, int size);
 
+    List<FreeSlotDto> findAvailability(long id, LocalDateTime from, LocalDateTime to);
+
     List<ItemDtoResponse> search(long userId, String text, int from, int size);
 }
@@ -11,9 +11,13 @@ import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.exception.IncorrectBookerId;
 import ru.practicum.shareit.exception.IncorrectIdException;
 import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemBooking;
+import ru.practicum.shareit.item.dao.ItemComment;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -21,14 +25,15 @@ import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.List;
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.*;
 
 @Transactional(readOnly = true)
 @Service
@@ -37,28 +42,75 @@ public class ItemServiceImpl implements ItemService {
     private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start");
     private static final Sort SORT_BY_START_ASC = Sort.by(Sort.Direction.ASC, "start");
     private static final Sort SORT_BY_CREATED_DESC = Sort.by(Sort.Direction.DESC, "created");
+    private static final Sort SORT_BY_ID = Sort.by(Sort.Direction.ASC, "id");
 
     private final UserRepository userRepo;
     private final CommentRepository commentRepo;
     private final ItemRepository repository;
     private final BookingRepository bookingRepo;
     private final ItemRequestRepository itemRequestRepo;
+    private final ItemSearchIndex searchIndex;
+    private final ItemCalendar calendar;
 
     @Transactional
     @Override
     public ItemDtoResponse save(ItemDtoRequest itemDto, long userId) {
-        Item item = repository.saveAndFlush(ItemMapper
-                .mapToItem(itemDto, userRepo.findById(userId)
-                        .orElseThrow(IncorrectIdException::new)));
+        Item item = ItemMapper.mapToItem(itemDto, userRepo.findById(userId).orElseThrow(IncorrectIdException::new));
+        item.setId(null);
+        item = repository.save(item);
         if (itemDto.getRequestId() != null) {
             item.setItemRequest(itemRequestRepo
                     .findById(itemDto.getRequestId())
                     .orElseThrow(IncorrectIdException::new));
         }
+        repository.createBookingStates(List.of(item.getId()));
+        searchIndex.update(item);
         return ItemMapper
                 .mapToItemDto(item);
     }
 
+    /**
+     * Saves one chunk of a bulk import in a single transaction. Rows referring to an unknown
+     * item request are reported and skipped, the rest are inserted in JDBC batches.
+     */
+    @Transactional
+    @Override
+    public List<ItemBulkResult> saveAll(List<ItemDtoRequest> itemDtos, long userId) {
+        User user = userRepo.findById(userId).orElseThrow(IncorrectIdException::new);
+        Map<Long, ItemRequest> requests = itemRequestRepo
+                .findAllById(itemDtos.stream()
+                        .map(ItemDtoRequest::getRequestId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .collect(toList()))
+                .stream()
+                .collect(toMap(ItemRequest::getId, Function.identity()));
+        List<ItemBulkResult> results = new ArrayList<>(itemDtos.size());
+        List<ItemBulkResult> saved = new ArrayList<>(itemDtos.size());
+        List<Item> items = new ArrayList<>(itemDtos.size());
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDtoRequest itemDto = itemDtos.get(i);
+            ItemBulkResult result = ItemBulkResult.builder().index(i).build();
+            results.add(result);
+            if (itemDto.getRequestId() != null && !requests.containsKey(itemDto.getRequestId())) {
+                result.setError("Item request " + itemDto.getRequestId() + " not found");
+                continue;
+            }
+            Item item = ItemMapper.mapToItem(itemDto, user);
+            item.setId(null);
+            item.setItemRequest(requests.get(itemDto.getRequestId()));
+            items.add(item);
+            saved.add(result);
+        }
+        repository.saveAll(items);
+        repository.createBookingStates(items.stream().map(Item::getId).collect(toList()));
+        for (int i = 0; i < items.size(); i++) {
+            saved.get(i).setId(items.get(i).getId());
+            searchIndex.update(items.get(i));
+        }
+        return results;
+    }
+
     @Transactional
     @Override
     public CommentDtoResponse saveComment(CommentDtoRequest commentDto, long itemId, long userId) {
@@ -70,7 +122,7 @@ public class ItemServiceImpl implements ItemService {
                 .findByItemIdAndUserIdAndStatusApprovedAndStartBeforeNow(itemId, userId, SORT_BY_START_ASC)
                 .stream().findFirst().orElseThrow(IncorrectBookerId::new);
         User user = booking.getUser();
-        return CommentMapper.mapToCommentDto(commentRepo.saveAndFlush(CommentMapper.mapToComment(commentDto, item, user)));
+        return CommentMapper.mapToCommentDto(commentRepo.save(CommentMapper.mapToComment(commentDto, item, user)));
     }
 
     @Transactional
@@ -89,6 +141,7 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
+        searchIndex.update(item);
         return ItemMapper.mapToItemDto(item);
     }
 
@@ -97,14 +150,31 @@ public class ItemServiceImpl implements ItemService {
     public ItemDtoResponse findById(long id, long userId) {
         Item item = repository.findById(id).orElseThrow(IncorrectIdException::new);
         List<Comment> comments = commentRepo.findByItemIn(List.of(item), SORT_BY_CREATED_DESC);
-        List<Booking> bookings = bookingRepo.findAllByOwnerIdAndStatusNotIn(userId, Status.REJECTED, SORT_BY_START_DESC);
-        ItemDtoResponse itemDto;
-        if (item.getUser().getId() == userId) {
-            itemDto = ItemMapper.mapToItemDto(item, comments, bookings);
-        } else {
-            itemDto = ItemMapper.mapToItemDto(item, comments);
+        if (item.getUser().getId() != userId) {
+            return ItemMapper.mapToItemDto(item, comments);
         }
-        return itemDto;
+        LocalDateTime now = LocalDateTime.now();
+        Booking lastBooking = bookingRepo
+                .findFirstByItemIdAndStatusNotAndStartLessThanEqualOrderByStartDesc(id, Status.REJECTED, now)
+                .orElse(null);
+        Booking nextBooking = bookingRepo
+                .findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc(id, Status.REJECTED, now)
+                .orElse(null);
+        return ItemMapper.mapToItemDto(item, comments, lastBooking, nextBooking);
+    }
+
+    /**
+     * The owner sees the last and next bookings as well, so the owner's tag also changes with the item's
+     * bookings and when the next booking starts.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETag(long id, long userId) {
+        return repository.findVersionById(id, Status.REJECTED, LocalDateTime.now())
+                .map(item -> item.getOwnerId() == userId
+                        ? item.getVersion() + "-" + item.getComments() + "-" + item.getBookings() + "-"
+                        + item.getNextStart()
+                        : item.getVersion() + "-" + item.getComments());
     }
 
     @Transactional(readOnly = true)
@@ -114,23 +184,41 @@ public class ItemServiceImpl implements ItemService {
         return setCommentsAndBookings(repository.findItemsByUserId(userId, PageRequest.of(pageNum, size)));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<FreeSlotDto> findAvailability(long id, LocalDateTime from, LocalDateTime to) {
+        if (!repository.existsById(id)) {
+            throw new IncorrectIdException();
+        }
+        if (!from.isBefore(to)) {
+            return Collections.emptyList();
+        }
+        return calendar.findFree(id, from, to);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<ItemDtoResponse> search(long userId, String text, int from, int size) {
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
         int pageNum = from / size;
-        return setCommentsAndBookings(repository
-                .findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(text,
-                        text, PageRequest.of(pageNum, size)));
+        Optional<List<Long>> ids = searchIndex.search(text, pageNum * size, size);
+        if (ids.isPresent()) {
+            return setCommentsAndBookings(repository.findItemsByIdIn(ids.get()));
+        }
+        return setCommentsAndBookings(repository.findAvailableByText(text, PageRequest.of(pageNum, size, SORT_BY_ID)));
     }
 
-    private List<ItemDtoResponse> setCommentsAndBookings(List<Item> items) {
-        Map<Item, List<Comment>> comments = commentRepo.findByItemIn(items, SORT_BY_CREATED_DESC)
+    private List<ItemDtoResponse> setCommentsAndBookings(List<ItemDtoResponse> items) {
+        List<Long> ids = items.stream().map(ItemDtoResponse::getId).collect(toList());
+        Map<Long, List<ItemComment>> comments = commentRepo.findByItemIdIn(ids, SORT_BY_CREATED_DESC)
                 .stream()
-                .collect(groupingBy(Comment::getItem, toList()));
-        Map<Item, List<Booking>> bookings = bookingRepo
-                .findByItemInAndStatusNotIn(items, Status.REJECTED, SORT_BY_START_DESC)
+                .collect(groupingBy(ItemComment::getItemId, toList()));
+        Map<Long, List<ItemBooking>> bookings = bookingRepo
+                .findByItemIdInAndStatusNot(ids, Status.REJECTED, SORT_BY_START_DESC)
                 .stream()
-                .collect(groupingBy(Booking::getItem, toList()));
+                .collect(groupingBy(ItemBooking::getItemId, toList()));
         return ItemMapper.mapToItemDto(items, comments, bookings);
     }
 }
@@ -2,11 +2,13 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -22,7 +24,12 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestDtoResponse findById(@PathVariable(name = "requestId") long id,
-                                           @RequestHeader(name = "X-Sharer-User-Id") long userId) {
+                                           @RequestHeader(name = "X-Sharer-User-Id") long userId,
+                                           WebRequest request) {
+        Optional<String> etag = service.findETag(id, userId);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
         return service.findById(id, userId);
     }
 
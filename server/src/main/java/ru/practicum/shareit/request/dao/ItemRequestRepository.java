@@ -3,10 +3,12 @@ package ru.practicum.shareit.request.dao;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByUserOrderByCreated(User user);
@@ -16,8 +18,23 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
             "where r.user.id not in(?1)")
     List<ItemRequest> findAllByUserIdNotIn(long userId);
 
-    @Query("select r " +
+    /**
+     * Requests of other users, returned only while the user itself exists, so a non-empty page
+     * also answers the user check.
+     */
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDtoResponse(r.id, r.description, r.created) " +
             "from ItemRequest r " +
-            "where r.user.id not in(?1)")
-    List<ItemRequest> findAllByUserIdNotIn(long userId, Pageable pageable);
+            "where r.user.id not in(?1) " +
+            "and exists (select u.id from User u where u.id = ?1)")
+    List<ItemRequestDtoResponse> findAllByUserIdNotIn(long userId, Pageable pageable);
+
+    /**
+     * Grows with every item added to the request and every change of those items; items are never deleted.
+     * Found only while the user exists, like the request itself.
+     */
+    @Query("select (select count(i.id) + coalesce(sum(i.version), 0) from Item i where i.itemRequest = r) " +
+            "from ItemRequest r " +
+            "where r.id = ?1 " +
+            "and exists (select u.id from User u where u.id = ?2)")
+    Optional<Long> findVersionById(long id, long userId);
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.dto;
 
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
@@ -11,12 +12,19 @@ import java.util.List;
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Builder
+@AllArgsConstructor
 public class ItemRequestDtoResponse {
     Long id;
     String description;
     LocalDateTime created;
     List<ItemDto> items;
 
+    public ItemRequestDtoResponse(Long id, String description, LocalDateTime created) {
+        this.id = id;
+        this.description = description;
+        this.created = created;
+    }
+
     @Data
     @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
     public static class ItemDto {
@@ -44,6 +44,12 @@ public class ItemRequestMapper {
                 .collect(Collectors.toList());
     }
 
+    public static List<ItemRequestDtoResponse> setItems(List<ItemRequestDtoResponse> itemRequests,
+                                                        Map<Long, List<ItemRequestDtoResponse.ItemDto>> items) {
+        itemRequests.forEach(i -> i.setItems(items.getOrDefault(i.getId(), Collections.emptyList())));
+        return itemRequests;
+    }
+
     private static ItemRequestDtoResponse.ItemDto mapToItemDto(Item item) {
         return new ItemRequestDtoResponse.ItemDto(item.getId(),
                 item.getName(),
@@ -4,12 +4,15 @@ import ru.practicum.shareit.request.dto.ItemRequestDtoRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestService {
     ItemRequestDtoResponse save(ItemRequestDtoRequest itemRequestDto, long userId);
 
     ItemRequestDtoResponse findById(long id, long userId);
 
+    Optional<String> findETag(long id, long userId);
+
     List<ItemRequestDtoResponse> findAllByOwner(long userId);
 
     List<ItemRequestDtoResponse> findAll(int from, int size, long userId);
@@ -18,6 +18,7 @@ import ru.practicum.shareit.user.model.User;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
@@ -31,9 +32,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional
     @Override
     public ItemRequestDtoResponse save(ItemRequestDtoRequest itemRequestDto, long userId) {
-        User user = checkUser(userId);
+        User user = getUser(userId);
         return ItemRequestMapper
-                .mapToItemRequestDto(repository.saveAndFlush(ItemRequestMapper.mapToItemRequest(itemRequestDto, user)));
+                .mapToItemRequestDto(repository.save(ItemRequestMapper.mapToItemRequest(itemRequestDto, user)));
     }
 
     @Transactional(readOnly = true)
@@ -45,20 +46,34 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.mapToItemRequestDto(itemRequest, items);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETag(long id, long userId) {
+        return repository.findVersionById(id, userId).map(String::valueOf);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<ItemRequestDtoResponse> findAllByOwner(long userId) {
-        List<ItemRequest> itemRequests = repository.findAllByUserOrderByCreated(checkUser(userId));
+        List<ItemRequest> itemRequests = repository.findAllByUserOrderByCreated(getUser(userId));
         return ItemRequestMapper.mapToItemRequestDto(itemRequests, findItems(itemRequests));
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<ItemRequestDtoResponse> findAll(int from, int size, long userId) {
-        checkUser(userId);
         int pageNum = from / size;
-        List<ItemRequest> itemRequests = repository.findAllByUserIdNotIn(userId, PageRequest.of(pageNum, size));
-        return ItemRequestMapper.mapToItemRequestDto(itemRequests, findItems(itemRequests));
+        List<ItemRequestDtoResponse> itemRequests = repository.findAllByUserIdNotIn(userId, PageRequest.of(pageNum, size));
+        if (itemRequests.isEmpty()) {
+            checkUser(userId);
+            return itemRequests;
+        }
+        List<Long> ids = itemRequests.stream().map(ItemRequestDtoResponse::getId).collect(Collectors.toList());
+        Map<Long, List<ItemRequestDtoResponse.ItemDto>> items = itemRepo
+                .findItemsByItemRequestIdIn(ids)
+                .stream()
+                .collect(Collectors.groupingBy(ItemRequestDtoResponse.ItemDto::getRequestId, Collectors.toList()));
+        return ItemRequestMapper.setItems(itemRequests, items);
     }
 
     private Map<ItemRequest, List<Item>> findItems(List<ItemRequest> itemRequests) {
@@ -68,7 +83,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.groupingBy(Item::getItemRequest, Collectors.toList()));
     }
 
-    private User checkUser(long userId) {
+    private User getUser(long userId) {
         return userRepo.findById(userId).orElseThrow(IncorrectIdException::new);
     }
+
+    private void checkUser(long userId) {
+        if (!userRepo.existsById(userId)) {
+            throw new IncorrectIdException();
+        }
+    }
 }
@@ -2,10 +2,12 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -30,7 +32,11 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto findById(@PathVariable(name = "userId") long id) {
+    public UserDto findById(@PathVariable(name = "userId") long id, WebRequest request) {
+        Optional<String> etag = service.findETag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
         return service.findById(id);
     }
 
@@ -1,7 +1,21 @@
 package ru.practicum.shareit.user.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Cached in the query cache, which Hibernate invalidates on every write to the users table,
+     * so repeated checks of the request user do not reach the database.
+     */
+    @Override
+    @Query("select case when count(u) > 0 then true else false end from User u where u.id = ?1")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
 }
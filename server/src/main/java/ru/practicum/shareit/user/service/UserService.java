@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserService {
     UserDto save(UserDto userDto);
@@ -13,5 +14,7 @@ public interface UserService {
 
     UserDto findById(long id);
 
+    Optional<String> findETag(long id);
+
     void delete(long id);
 }
@@ -10,6 +10,7 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.Optional;
 
 @Transactional(readOnly = true)
 @Service
@@ -48,6 +49,12 @@ public class UserServiceImpl implements UserService {
         return UserMapper.mapToUserDto(repository.findById(id).orElseThrow(IncorrectIdException::new));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<String> findETag(long id) {
+        return repository.findById(id).map(user -> String.valueOf(user.getVersion()));
+    }
+
     @Transactional
     @Override
     public void delete(long id) {
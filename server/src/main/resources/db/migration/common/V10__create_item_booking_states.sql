@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS item_booking_states
+(
+    item_id INTEGER PRIMARY KEY REFERENCES items (id) ON DELETE CASCADE,
+    version BIGINT NOT NULL DEFAULT 0
+);
+INSERT INTO item_booking_states (item_id)
+SELECT id
+FROM items;
@@ -0,0 +1,8 @@
+CREATE INDEX IF NOT EXISTS bookings_user_id_start_index ON bookings (user_id, start DESC);
+CREATE INDEX IF NOT EXISTS bookings_user_id_status_start_index ON bookings (user_id, status, start DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_start_index ON bookings (item_id, status, start);
+CREATE INDEX IF NOT EXISTS bookings_item_id_user_id_status_index ON bookings (item_id, user_id, status);
+CREATE INDEX IF NOT EXISTS items_user_id_index ON items (user_id);
+CREATE INDEX IF NOT EXISTS items_request_id_index ON items (request_id);
+CREATE INDEX IF NOT EXISTS comments_item_id_created_index ON comments (item_id, created DESC);
+CREATE INDEX IF NOT EXISTS requests_user_id_created_index ON requests (user_id, created);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS bookings_item_id_start_index ON bookings (item_id, start);
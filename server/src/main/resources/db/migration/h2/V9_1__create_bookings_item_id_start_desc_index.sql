@@ -0,0 +1,2 @@
+-- H2 can not read an index backwards, Postgres walks bookings_item_id_start_index both ways
+CREATE INDEX IF NOT EXISTS bookings_item_id_start_desc_index ON bookings (item_id, start DESC);
@@ -0,0 +1,27 @@
+-- V6 excludes overlapping approved bookings of one item; bookings approved before the check existed may
+-- overlap. Per item, in order of start, the first approved booking is kept and every later one starting
+-- before the end of the last kept booking is rejected.
+DO
+$$
+    DECLARE
+        booking   RECORD;
+        last_item INTEGER;
+        kept_end  TIMESTAMP;
+    BEGIN
+        FOR booking IN SELECT id, item_id, start, end_time
+                       FROM bookings
+                       WHERE status = 'APPROVED'
+                       ORDER BY item_id, start, id
+            LOOP
+                IF booking.item_id IS DISTINCT FROM last_item THEN
+                    last_item := booking.item_id;
+                    kept_end := NULL;
+                END IF;
+                IF kept_end IS NOT NULL AND booking.start < kept_end THEN
+                    UPDATE bookings SET status = 'REJECTED' WHERE id = booking.id;
+                ELSE
+                    kept_end := booking.end_time;
+                END IF;
+            END LOOP;
+    END
+$$;
@@ -0,0 +1,16 @@
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 1, false) FROM users;
+SELECT setval('requests_seq', COALESCE(MAX(id), 0) + 1, false) FROM requests;
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 1, false) FROM items;
+SELECT setval('comments_seq', COALESCE(MAX(id), 0) + 1, false) FROM comments;
+SELECT setval('bookings_seq', COALESCE(MAX(id), 0) + 1, false) FROM bookings;
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
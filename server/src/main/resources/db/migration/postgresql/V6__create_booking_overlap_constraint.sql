@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_item_id_approved_period_excl
+        EXCLUDE USING gist (item_id WITH =, tsrange(start, end_time) WITH &&) WHERE (status = 'APPROVED');
@@ -0,0 +1,139 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql("classpath:reboot.sql")
+@Sql("classpath:test.sql")
+class ETagTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemRequestService requestService;
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void findById_whenETagMatches_thenReturnNotModified() throws Exception {
+        String etag = mvc.perform(get("/items/{itemId}", 1L).header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mvc.perform(get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void findETag_whenItemUpdated_thenChange() {
+        String before = itemService.findETag(1L, 2L).orElseThrow();
+
+        itemService.update(ItemDtoRequest.builder().name("update").build(), 1L, 1L);
+
+        assertNotEquals(before, itemService.findETag(1L, 2L).orElseThrow());
+    }
+
+    @Test
+    void findETag_whenCommentAuthorRenamed_thenChange() {
+        String before = itemService.findETag(1L, 2L).orElseThrow();
+
+        userService.update(UserDto.builder().name("update").build(), 2L);
+
+        assertNotEquals(before, itemService.findETag(1L, 2L).orElseThrow());
+    }
+
+    @Test
+    void findETag_whenBookingSaved_thenChangeForOwner() {
+        String before = itemService.findETag(1L, 1L).orElseThrow();
+
+        bookingService.save(BookingDtoRequest.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build(), 2L);
+
+        assertNotEquals(before, itemService.findETag(1L, 1L).orElseThrow());
+    }
+
+    @Test
+    void findETag_whenOwnerAndBooker_thenDiffer() {
+        assertNotEquals(itemService.findETag(1L, 1L).orElseThrow(), itemService.findETag(1L, 2L).orElseThrow());
+    }
+
+    @Test
+    void findETag_whenItemAddedToRequest_thenChange() {
+        String before = requestService.findETag(1L, 1L).orElseThrow();
+
+        itemService.save(ItemDtoRequest.builder()
+                .name("answer")
+                .description("answer")
+                .available(true)
+                .requestId(1L)
+                .build(), 1L);
+
+        assertNotEquals(before, requestService.findETag(1L, 1L).orElseThrow());
+    }
+
+    @Test
+    void findETag_whenUserIsNotFound_thenReturnEmpty() {
+        assertFalse(requestService.findETag(1L, 99L).isPresent());
+        assertFalse(bookingService.findETag(1L, 99L).isPresent());
+        assertFalse(userService.findETag(99L).isPresent());
+        assertFalse(itemService.findETag(99L, 1L).isPresent());
+    }
+
+    @Test
+    void findETag_whenUserUpdated_thenChange() {
+        String before = userService.findETag(1L).orElseThrow();
+
+        userService.update(UserDto.builder().name("update").build(), 1L);
+
+        assertNotEquals(before, userService.findETag(1L).orElseThrow());
+    }
+
+    @Test
+    void findETag_whenBookingRejected_thenChange() {
+        long id = bookingService.save(BookingDtoRequest.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build(), 2L).getId();
+        String before = bookingService.findETag(id, 2L).orElseThrow();
+
+        bookingService.update(id, 1L, false);
+
+        assertNotEquals(before, bookingService.findETag(id, 2L).orElseThrow());
+    }
+}
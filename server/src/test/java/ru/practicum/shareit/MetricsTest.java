@@ -0,0 +1,136 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.IncorrectState;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMetrics
+@AutoConfigureMockMvc
+@Sql("classpath:reboot.sql")
+@Sql("classpath:test.sql")
+class MetricsTest {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+    @Autowired
+    private CacheManager secondLevelCacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry.clear();
+    }
+
+    @Test
+    void findAllByUserId_whenCalled_thenTimeByState() {
+        bookingService.findAllByUserId(2, "PAST", 0, 10);
+
+        Timer timer = meterRegistry.get(MetricsAspect.SERVICE_TIMER)
+                .tag("method", "findAllByUserId")
+                .tag("state", "PAST")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void findAllByUserId_whenStateIsUnknown_thenTagAsInvalid() {
+        assertThrows(IncorrectState.class, () -> bookingService.findAllByUserId(2, "UNKNOWN", 0, 10));
+
+        Timer timer = meterRegistry.get(MetricsAspect.SERVICE_TIMER)
+                .tag("method", "findAllByUserId")
+                .tag("state", "INVALID")
+                .tag("exception", "IncorrectState")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void findById_whenUserServiceCalled_thenTimeWithoutState() {
+        userService.findById(1);
+
+        assertEquals(1, meterRegistry.get(MetricsAspect.SERVICE_TIMER)
+                .tag("method", "findById")
+                .tag("state", "none")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void findAllByUserIdAndBounds_whenCalled_thenRecordRows() {
+        bookingService.findAllByUserId(2, "PAST", 0, 10);
+
+        double rows = meterRegistry.get(MetricsAspect.ROWS_SUMMARY)
+                .tag("repository", "BookingRepository")
+                .tag("method", "findAllByUserId")
+                .summary()
+                .totalAmount();
+        assertEquals(1, rows);
+        meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "BookingRepository")
+                .tag("method", "findAllByUserId")
+                .timer();
+    }
+
+    @Test
+    void hitRatio_whenHibernateStatisticsAreOff_thenReportFromCacheRegion() {
+        secondLevelCacheMetrics.bindTo(meterRegistry);
+        entityManagerFactory.getCache().evict(User.class);
+        SecondLevelCacheConfig.statistics(secondLevelCacheManager.getCache("users")).clear();
+
+        userService.findById(1);
+        userService.findById(1);
+
+        assertEquals(1.0 / 3, meterRegistry.get("hibernate.second.level.cache.hit.ratio")
+                .tag("region", "users")
+                .gauge()
+                .value());
+        assertEquals(1, meterRegistry.get("cache.gets")
+                .tag("cache", "users")
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    void prometheus_whenScraped_thenExposeHistograms() throws Exception {
+        bookingService.findAllByUserId(2, "PAST", 0, 10);
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket")))
+                .andExpect(content().string(containsString("shareit_repository_rows_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")));
+    }
+}
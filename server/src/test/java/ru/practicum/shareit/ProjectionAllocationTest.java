@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dao.BookingBounds;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.model.Status.APPROVED;
+import static ru.practicum.shareit.util.BookingTest.getNewBooking;
+import static ru.practicum.shareit.util.ItemTest.getNewItem;
+import static ru.practicum.shareit.util.UserTest.getNewUser;
+
+@DataJpaTest
+class ProjectionAllocationTest {
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+    private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start");
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private BookingRepository bookingRepo;
+    @Autowired
+    private ItemRepository itemRepo;
+    @Autowired
+    private UserRepository userRepo;
+
+    private User booker;
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = userRepo.save(getNewUser("owner", "owner@mail.com"));
+        booker = userRepo.save(getNewUser("booker", "booker@mail.com"));
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Item item = itemRepo.save(getNewItem("name" + i, "description" + i, true, owner));
+            bookingRepo.save(getNewBooking(NOW.minusDays(i + 2), NOW.minusDays(i + 1), APPROVED, item, booker));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllByUserId_whenProjected_thenAllocateLessThanEntities() {
+        Supplier<List<BookingDtoResponse>> entities = () -> entityManager
+                .createQuery("select b from Booking b join fetch b.item join fetch b.user " +
+                        "where b.user.id = ?1 order by b.start desc", Booking.class)
+                .setParameter(1, booker.getId())
+                .getResultStream()
+                .map(BookingMapper::mapToBookingDto)
+                .collect(Collectors.toList());
+        Supplier<List<BookingDtoResponse>> projections = () -> bookingRepo
+                .findAllByUserId(booker.getId(), BookingBounds.ALL, PageRequest.of(0, PAGE_SIZE, SORT_BY_START_DESC));
+
+        assertEquals(entities.get(), projections.get());
+
+        long entityBytes = allocatedPerCall(entities);
+        long projectionBytes = allocatedPerCall(projections);
+
+        assertTrue(projectionBytes < entityBytes,
+                "projection: " + projectionBytes + " bytes, entities: " + entityBytes + " bytes per page");
+    }
+
+    private long allocatedPerCall(Supplier<List<BookingDtoResponse>> call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+            entityManager.clear();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+            entityManager.clear();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+}
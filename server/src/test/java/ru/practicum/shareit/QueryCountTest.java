@@ -0,0 +1,204 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingBounds;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.model.Status.APPROVED;
+import static ru.practicum.shareit.util.BookingTest.getNewBooking;
+import static ru.practicum.shareit.util.ItemTest.getNewItem;
+import static ru.practicum.shareit.util.RequestTest.getNewRequest;
+
+/**
+ * Pins the number of SQL statements each repository call and service method sends, counted by Hibernate
+ * statistics on the data of {@code test.sql}, so a paged call that brings its count query back or an
+ * association that starts loading row by row fails here.
+ */
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql("classpath:reboot.sql")
+@Sql("classpath:test.sql")
+class QueryCountTest {
+    private static final PageRequest SECOND_PAGE = PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "start"));
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingRepository bookingRepo;
+    @Autowired
+    private ItemRepository itemRepo;
+    @Autowired
+    private ItemRequestRepository requestRepo;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllByUserId_whenPageIsNotFirst_thenRunOneQuery() {
+        addSecondRows();
+
+        assertEquals(1, countStatements(() ->
+                assertEquals(1, bookingRepo.findAllByUserId(2, BookingBounds.ALL, SECOND_PAGE).size())));
+    }
+
+    @Test
+    void findAllByOwnerIdAndStatus_whenPageIsNotFirst_thenRunOneQuery() {
+        addSecondRows();
+
+        assertEquals(1, countStatements(() -> assertEquals(1,
+                bookingRepo.findAllByOwnerId(1, BookingBounds.ALL.withStatus(APPROVED), SECOND_PAGE).size())));
+    }
+
+    @Test
+    void findItemsByUserId_whenPageIsNotFirst_thenRunOneQuery() {
+        addSecondRows();
+
+        assertEquals(1, countStatements(() ->
+                assertEquals(1, itemRepo.findItemsByUserId(1, PageRequest.of(1, 1)).size())));
+    }
+
+    @Test
+    void findAllByUserIdNotIn_whenPageIsNotFirst_thenRunOneQuery() {
+        addSecondRows();
+
+        assertEquals(1, countStatements(() ->
+                assertEquals(1, requestRepo.findAllByUserIdNotIn(1, PageRequest.of(1, 1)).size())));
+    }
+
+    /**
+     * The scripts restart the sequences while Hibernate keeps its pooled-lo block, so a hundred inserts
+     * in one transaction would draw ids twice; the sequence is moved past any block handed out before.
+     */
+    @Test
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "ALTER SEQUENCE items_seq RESTART WITH 1000")
+    void saveAll_whenManyItems_thenInsertInBatches() {
+        User owner = userRepo.findById(1L).orElseThrow();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(getNewItem("bulk" + i, "description", true, owner));
+        }
+
+        long statements = countStatements(() -> itemRepo.saveAllAndFlush(items));
+
+        assertEquals(100, statistics.getEntityInsertCount());
+        assertTrue(statements <= 4, "statements: " + statements);
+    }
+
+    @Test
+    void findBookingById() {
+        assertEquals(1, countStatements(() -> bookingService.findById(1, 2)));
+    }
+
+    @Test
+    void findBookingsByUserId() {
+        assertEquals(1, countStatements(() -> bookingService.findAllByUserId(2, "ALL", 0, 20)));
+    }
+
+    @Test
+    void findBookingsByUserId_whenPageIsEmpty() {
+        assertEquals(2, countStatements(() -> bookingService.findAllByUserId(2, "WAITING", 0, 20)));
+    }
+
+    @Test
+    void findBookingsByOwnerId() {
+        assertEquals(1, countStatements(() -> bookingService.findAllByOwnerId(1, "ALL", 0, 20)));
+    }
+
+    @Test
+    void findItemById_whenUserIsOwner() {
+        assertEquals(4, countStatements(() -> itemService.findById(1, 1)));
+    }
+
+    @Test
+    void findItemById_whenUserIsNotOwner() {
+        assertEquals(2, countStatements(() -> itemService.findById(1, 2)));
+    }
+
+    @Test
+    void findItemsByOwner() {
+        assertEquals(3, countStatements(() -> itemService.findAll(1, 0, 20)));
+    }
+
+    @Test
+    void searchItems() {
+        assertEquals(3, countStatements(() -> itemService.search(2, "item", 0, 20)));
+    }
+
+    @Test
+    void findItemRequestById() {
+        assertEquals(3, countStatements(() -> itemRequestService.findById(1, 2)));
+    }
+
+    @Test
+    void findItemRequestsByOwner() {
+        assertEquals(3, countStatements(() -> itemRequestService.findAllByOwner(2)));
+    }
+
+    @Test
+    void findAllItemRequests() {
+        assertEquals(2, countStatements(() -> itemRequestService.findAll(0, 20, 1)));
+    }
+
+    @Test
+    void findAllItemRequests_whenPageIsEmpty() {
+        assertEquals(2, countStatements(() -> itemRequestService.findAll(0, 20, 2)));
+    }
+
+    /**
+     * Gives the owner a second item, the booker a second booking and a second request, so that the second
+     * page of a one-row page size is not empty.
+     */
+    private void addSecondRows() {
+        User owner = userRepo.findById(1L).orElseThrow();
+        User booker = userRepo.findById(2L).orElseThrow();
+        Item item = itemRepo.save(getNewItem("second", "description", true, owner));
+        bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker));
+        requestRepo.save(getNewRequest("second", NOW, booker));
+        userRepo.flush();
+    }
+
+    private long countStatements(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
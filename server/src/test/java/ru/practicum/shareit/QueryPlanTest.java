@@ -0,0 +1,294 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dao.BookingBounds;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.model.Status.APPROVED;
+import static ru.practicum.shareit.booking.model.Status.REJECTED;
+import static ru.practicum.shareit.booking.model.Status.WAITING;
+import static ru.practicum.shareit.util.ItemTest.getNewItem;
+import static ru.practicum.shareit.util.UserTest.getNewUser;
+
+/**
+ * Runs the repository methods, records the SQL Hibernate actually sends together with its bind values,
+ * and explains exactly that statement, so a query that stops filtering on an indexed column fails here.
+ * H2 indexes every foreign key on its own, so a lookup on the leading column alone would also pass with
+ * one of those; where a query filters on status or start as well, the expected condition includes them,
+ * and only the composite indexes of the migration can serve it.
+ */
+@DataJpaTest
+class QueryPlanTest {
+    private static final PageRequest PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Pattern LOOKUP = Pattern.compile("FROM \"PUBLIC\"\\.\"(\\w+)\" \"\\w+\"\\s+" +
+            "/\\* PUBLIC\\.\\w+: (.+?)\\*/", Pattern.DOTALL);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private StatementRecorder recorder;
+    @Autowired
+    private BookingRepository bookingRepo;
+    @Autowired
+    private ItemRepository itemRepo;
+    @Autowired
+    private CommentRepository commentRepo;
+    @Autowired
+    private ItemRequestRepository requestRepo;
+    @Autowired
+    private UserRepository userRepo;
+
+    private User user;
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        user = userRepo.save(getNewUser("user", "user@mail.com"));
+        item = itemRepo.save(getNewItem("name", "description", true, user));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllByUserId() {
+        assertIndexLookup("BOOKINGS", List.of("USER_ID = ?1"),
+                () -> bookingRepo.findAllByUserId(user.getId(), BookingBounds.ALL, PAGE));
+    }
+
+    @Test
+    void findAllByUserIdAndStatus() {
+        assertIndexLookup("BOOKINGS", List.of("USER_ID = ?1", "STATUS = ?2"),
+                () -> bookingRepo.findAllByUserId(user.getId(), BookingBounds.ALL.withStatus(WAITING), PAGE));
+    }
+
+    @Test
+    void findByItemIdAndUserIdAndStatusApprovedAndStartBeforeNow() {
+        assertIndexLookup("BOOKINGS", List.of("USER_ID = ?2"),
+                () -> bookingRepo.findByItemIdAndUserIdAndStatusApprovedAndStartBeforeNow(item.getId(),
+                        user.getId(), Sort.by("start")));
+    }
+
+    @Test
+    void findFirstByItemIdAndStatusNotAndStartLessThanEqualOrderByStartDesc() {
+        assertSortedIndexLookup("BOOKINGS", List.of("START <= ?3", "ITEM_ID = ?1"),
+                () -> bookingRepo.findFirstByItemIdAndStatusNotAndStartLessThanEqualOrderByStartDesc(item.getId(),
+                        REJECTED, NOW));
+    }
+
+    @Test
+    void findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc() {
+        assertSortedIndexLookup("BOOKINGS", List.of("START > ?3", "ITEM_ID = ?1"),
+                () -> bookingRepo.findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc(item.getId(),
+                        REJECTED, NOW));
+    }
+
+    @Test
+    void findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc() {
+        assertIndexLookup("BOOKINGS", List.of("ITEM_ID = ?1", "STATUS = ?2", "START < ?3"),
+                () -> bookingRepo.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(item.getId(),
+                        APPROVED, NOW));
+    }
+
+    @Test
+    void findByItemIdAndStatusIn() {
+        assertIndexLookup("BOOKINGS", List.of("ITEM_ID = ?1"),
+                () -> bookingRepo.findByItemIdAndStatusIn(item.getId(), List.of(WAITING, APPROVED)));
+    }
+
+    @Test
+    void findByItemIdInAndStatusNot() {
+        assertIndexLookup("BOOKINGS", List.of("ITEM_ID = ?1"),
+                () -> bookingRepo.findByItemIdInAndStatusNot(List.of(item.getId()), REJECTED, Sort.by("start")));
+    }
+
+    @Test
+    void findAllByOwnerId() {
+        assertIndexLookup("ITEMS", List.of("USER_ID = ?1"),
+                () -> bookingRepo.findAllByOwnerId(user.getId(), BookingBounds.ALL, PAGE));
+    }
+
+    @Test
+    void findAllByOwnerIdAndStatus() {
+        assertIndexLookup("ITEMS", List.of("USER_ID = ?1"),
+                () -> bookingRepo.findAllByOwnerId(user.getId(), BookingBounds.ALL.withStatus(WAITING), PAGE));
+    }
+
+    @Test
+    void findItemsByUserId() {
+        assertIndexLookup("ITEMS", List.of("USER_ID = ?1"),
+                () -> itemRepo.findItemsByUserId(user.getId(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findItemsByItemRequestIdIn() {
+        assertIndexLookup("ITEMS", List.of("REQUEST_ID IN(?1, ?2)"),
+                () -> itemRepo.findItemsByItemRequestIdIn(List.of(1L, 2L)));
+    }
+
+    @Test
+    void findByItemIdIn() {
+        assertIndexLookup("COMMENTS", List.of("ITEM_ID = ?1"),
+                () -> commentRepo.findByItemIdIn(List.of(item.getId()), Sort.by(Sort.Direction.DESC, "created")));
+    }
+
+    @Test
+    void findAllByUserOrderByCreated() {
+        assertIndexLookup("REQUESTS", List.of("USER_ID = ?1"), () -> requestRepo.findAllByUserOrderByCreated(user));
+    }
+
+    /**
+     * Same as {@link #assertIndexLookup}, and checks that the rows come out of the index in the requested
+     * order, so that the limit stops the scan at the first row instead of after sorting all of them.
+     */
+    private void assertSortedIndexLookup(String table, List<String> conditions, Runnable call) {
+        String plan = assertIndexLookup(table, conditions, call);
+        assertTrue(plan.contains("/* index sorted */"), plan);
+    }
+
+    /**
+     * Explains the single query {@code call} sends and checks that its first table is read through an index
+     * whose lookup condition covers {@code conditions}.
+     */
+    private String assertIndexLookup(String table, List<String> conditions, Runnable call) {
+        recorder.clear();
+        call.run();
+        List<RecordedStatement> statements = recorder.getStatements();
+        assertEquals(1, statements.size(), statements.toString());
+
+        RecordedStatement statement = statements.get(0);
+        String plan = String.join("\n", jdbcTemplate.query("explain " + statement.sql, ps -> {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters.entrySet()) {
+                ps.setObject(parameter.getKey(), parameter.getValue());
+            }
+        }, (rs, rowNum) -> rs.getString(1)));
+
+        Matcher lookup = LOOKUP.matcher(plan);
+        assertTrue(lookup.find(), plan);
+        assertEquals(table, lookup.group(1), plan);
+        String condition = lookup.group(2).replaceAll("\\s+", " ");
+        for (String expected : conditions) {
+            assertTrue(condition.contains(expected), plan);
+        }
+        return plan;
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    /**
+     * Wraps the data source so every executed prepared query is recorded with the values bound to it.
+     */
+    static class StatementRecorder implements BeanPostProcessor {
+        private final List<RecordedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean recording;
+
+        void clear() {
+            statements.clear();
+            recording = true;
+        }
+
+        List<RecordedStatement> getStatements() {
+            recording = false;
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, bean, (method, result, args) ->
+                    method.getName().equals("getConnection") ? proxyConnection(result) : result);
+        }
+
+        private Object proxyConnection(Object connection) {
+            return proxy(java.sql.Connection.class, connection, (method, result, args) ->
+                    method.getName().equals("prepareStatement") ? proxyStatement(result, (String) args[0]) : result);
+        }
+
+        private Object proxyStatement(Object statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{java.sql.PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer) {
+                            parameters.put((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+                        } else if (method.getName().equals("executeQuery") && recording) {
+                            statements.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                        }
+                        return invoke(method, statement, args);
+                    });
+        }
+
+        private static Object proxy(Class<?> type, Object target, ResultWrapper wrapper) {
+            return Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> wrapper.wrap(method, invoke(method, target, args), args));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    interface ResultWrapper {
+        Object wrap(Method method, Object result, Object[] args);
+    }
+
+    static class RecordedStatement {
+        private final String sql;
+        private final Map<Integer, Object> parameters;
+
+        RecordedStatement(String sql, Map<Integer, Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public String toString() {
+            return sql + " " + parameters;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql("classpath:reboot.sql")
+@Sql("classpath:test.sql")
+class SecondLevelCacheTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CacheManager secondLevelCacheManager;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private ItemRepository itemRepo;
+    @Autowired
+    private ItemRequestRepository requestRepo;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_whenLoadedBefore_thenServeFromCache() {
+        userRepo.findById(1L);
+        itemRepo.findById(1L);
+        requestRepo.findById(1L);
+        long statements = statistics.getPrepareStatementCount();
+
+        User user = userRepo.findById(1L).orElseThrow();
+        Item item = itemRepo.findById(1L).orElseThrow();
+        ItemRequest request = requestRepo.findById(1L).orElseThrow();
+
+        assertEquals("owner", user.getName());
+        assertEquals("item", item.getName());
+        assertEquals("request", request.getDescription());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("items").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("requests").getHitCount());
+    }
+
+    @Test
+    void findById_whenUserUpdated_thenReturnUpdated() {
+        userRepo.findById(1L);
+
+        userService.update(UserDto.builder().name("update").build(), 1);
+
+        assertEquals("update", userRepo.findById(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void findById_whenUserDeleted_thenReturnEmpty() {
+        userRepo.findById(2L);
+        jdbcTemplate.update("delete from comments");
+        jdbcTemplate.update("delete from bookings");
+        jdbcTemplate.update("delete from requests");
+        entityManagerFactory.getCache().evict(ItemRequest.class);
+
+        userService.delete(2);
+
+        assertFalse(userRepo.findById(2L).isPresent());
+    }
+
+    @Test
+    void findById_whenItemUpdated_thenReturnUpdated() {
+        itemRepo.findById(1L);
+
+        itemService.update(ItemDtoRequest.builder().name("update").build(), 1, 1);
+
+        assertEquals("update", itemRepo.findById(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void update_whenBookingApproved_thenEvictOnlyApprovedItem() {
+        jdbcTemplate.update("insert into items (id, user_id, name, description, available) " +
+                "values (2, 1, 'other', 'other', true)");
+        jdbcTemplate.update("insert into bookings (id, start, end_time, status, item_id, user_id) " +
+                "values (2, parsedatetime('01-01-2030', 'dd-MM-yyyy'), parsedatetime('02-01-2030', 'dd-MM-yyyy'), " +
+                "'WAITING', 1, 2)");
+        itemRepo.findById(1L);
+        itemRepo.findById(2L);
+
+        bookingService.update(2, 1, true);
+
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, 2L));
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, 1L));
+        assertEquals(1, itemRepo.findById(1L).orElseThrow().getVersion());
+        assertEquals("update",
+                itemService.update(ItemDtoRequest.builder().name("update").build(), 1, 1).getName());
+    }
+
+    @Test
+    void existsById_whenCheckedBefore_thenServeFromQueryCache() {
+        userRepo.existsById(1L);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(userRepo.existsById(1L));
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void existsById_whenUserDeleted_thenReturnFalse() {
+        userService.save(UserDto.builder().name("new").email("new@mail.com").build());
+        assertTrue(userRepo.existsById(3L));
+
+        userService.delete(3);
+
+        assertFalse(userRepo.existsById(3L));
+    }
+
+    /**
+     * The first lookup misses and reads the region once more before the put, the second one hits.
+     */
+    @Test
+    void hitRatio_whenSecondLookupHits_thenReportOneReadInThree() {
+        SecondLevelCacheConfig.statistics(secondLevelCacheManager.getCache("users")).clear();
+        userRepo.findById(1L);
+        userRepo.findById(1L);
+
+        double ratio = meterRegistry
+                .get("hibernate.second.level.cache.hit.ratio")
+                .tag("region", "users")
+                .gauge()
+                .value();
+
+        assertEquals(1.0 / 3, ratio);
+    }
+}
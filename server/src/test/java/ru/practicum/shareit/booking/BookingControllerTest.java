@@ -125,4 +125,26 @@ class BookingControllerTest {
         verify(service, times(1)).findAllByOwnerId(anyLong(), anyString(), anyInt(), anyInt());
         assertEquals(objectMapper.writeValueAsString(List.of(response)), result);
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void findByUserId_whenAfterIsSet_thenUseCursor() {
+        when(service.findAllByUserIdAfter(anyLong(), anyString(), anyString(), anyInt())).thenReturn(List.of(response));
+
+        String result = mockMvc.perform(get("/bookings")
+                        .contentType("application/json")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("after", "2023-01-01T10:00:00,5")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        verify(service, times(1)).findAllByUserIdAfter(1L, "ALL", "2023-01-01T10:00:00,5", 1);
+        verify(service, never()).findAllByUserId(anyLong(), anyString(), anyInt(), anyInt());
+        assertEquals(objectMapper.writeValueAsString(List.of(response)), result);
+    }
+}
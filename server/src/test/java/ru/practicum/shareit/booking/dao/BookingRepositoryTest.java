@@ -5,18 +5,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dao.ItemBooking;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ru.practicum.shareit.booking.model.Status.APPROVED;
+import static ru.practicum.shareit.booking.model.Status.REJECTED;
 import static ru.practicum.shareit.booking.model.Status.WAITING;
 import static ru.practicum.shareit.util.BookingTest.getNewBooking;
 import static ru.practicum.shareit.util.ItemTest.getNewItem;
@@ -25,7 +36,8 @@ import static ru.practicum.shareit.util.UserTest.getNewUser;
 @DataJpaTest
 class BookingRepositoryTest {
     private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start");
-    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Sort SORT_BY_START_DESC_ID_DESC = SORT_BY_START_DESC.and(Sort.by(Sort.Direction.DESC, "id"));
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
     @Autowired
     private BookingRepository bookingRepo;
@@ -63,123 +75,116 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItemInAndStatusNotIn() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
-
-        List<Booking> bookings = bookingRepo.findByItemInAndStatusNotIn(List.of(item), WAITING, SORT_BY_START_DESC);
-
-        assertFalse(bookings.isEmpty());
-    }
-
-    @Test
-    void findAllByUserId() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
-
-        List<Booking> bookings = bookingRepo.findAllByUserId(booker.getId(), SORT_BY_START_DESC);
-
-        assertFalse(bookings.isEmpty());
-    }
-
-    @Test
-    void findAllByUserIdAndStatus() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
-
-        List<Booking> bookings = bookingRepo.findAllByUserIdAndStatus(booker.getId(), APPROVED, SORT_BY_START_DESC);
-
-        assertFalse(bookings.isEmpty());
-    }
-
-    @Test
-    void findAllByUserIdAndCurrentTime() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.plusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
-
-        List<Booking> bookings = bookingRepo.findAllByUserIdAndCurrentTime(booker.getId(), SORT_BY_START_DESC);
-
-        assertFalse(bookings.isEmpty());
+    void findFirstByItemIdAndStatusNotAndStartLessThanEqualOrderByStartDesc() {
+        Item otherItem = itemRepo.save(getNewItem("other", "other", true, user));
+        bookingRepo.save(getNewBooking(NOW.minusDays(4), NOW.minusDays(3), APPROVED, item, booker));
+        Booking last = bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker));
+        bookingRepo.save(getNewBooking(NOW.minusHours(2), NOW.minusHours(1), REJECTED, item, booker));
+        bookingRepo.save(getNewBooking(NOW.minusHours(2), NOW.minusHours(1), APPROVED, otherItem, booker));
+
+        Optional<Booking> result = bookingRepo
+                .findFirstByItemIdAndStatusNotAndStartLessThanEqualOrderByStartDesc(item.getId(), REJECTED, NOW);
+
+        assertTrue(result.isPresent());
+        assertEquals(last.getId(), result.get().getId());
     }
 
     @Test
-    void findAllByUserIdAndStartAfter() {
-        Booking booking = getNewBooking(NOW.plusDays(2), NOW.plusDays(3), APPROVED, item, booker);
-        bookingRepo.save(booking);
-
-        List<Booking> bookings = bookingRepo.findAllByUserIdAndStartAfter(booker.getId(), SORT_BY_START_DESC);
-
-        assertFalse(bookings.isEmpty());
-    }
-
-    @Test
-    void findAllByUserIdAndEndBefore() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
-
-        List<Booking> bookings = bookingRepo.findAllByUserIdAndEndBefore(booker.getId(), SORT_BY_START_DESC);
-
-        assertFalse(bookings.isEmpty());
+    void findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc() {
+        Item otherItem = itemRepo.save(getNewItem("other", "other", true, user));
+        bookingRepo.save(getNewBooking(NOW.plusDays(3), NOW.plusDays(4), APPROVED, item, booker));
+        Booking next = bookingRepo.save(getNewBooking(NOW.plusDays(1), NOW.plusDays(2), WAITING, item, booker));
+        bookingRepo.save(getNewBooking(NOW.plusHours(1), NOW.plusHours(2), REJECTED, item, booker));
+        bookingRepo.save(getNewBooking(NOW.plusHours(1), NOW.plusHours(2), APPROVED, otherItem, booker));
+
+        Optional<Booking> result = bookingRepo
+                .findFirstByItemIdAndStatusNotAndStartAfterOrderByStartAsc(item.getId(), REJECTED, NOW);
+
+        assertTrue(result.isPresent());
+        assertEquals(next.getId(), result.get().getId());
     }
 
     @Test
-    void findAllByOwnerIdAndStatusNotIn() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
+    void findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc() {
+        bookingRepo.save(getNewBooking(NOW.minusDays(4), NOW.minusDays(3), APPROVED, item, booker));
+        Booking latest = bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker));
+        bookingRepo.save(getNewBooking(NOW.minusHours(2), NOW.minusHours(1), WAITING, item, booker));
+        bookingRepo.save(getNewBooking(NOW.plusDays(1), NOW.plusDays(2), APPROVED, item, booker));
 
-        List<Booking> bookings = bookingRepo.findAllByOwnerIdAndStatusNotIn(user.getId(), WAITING, SORT_BY_START_DESC);
+        Optional<Booking> result = bookingRepo
+                .findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(item.getId(), APPROVED, NOW);
 
-        assertFalse(bookings.isEmpty());
+        assertTrue(result.isPresent());
+        assertEquals(latest.getId(), result.get().getId());
     }
 
     @Test
-    void findAllByOwnerId() {
+    void findByItemIdInAndStatusNot() {
         Booking booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
         bookingRepo.save(booking);
 
-        List<Booking> bookings = bookingRepo.findAllByOwnerId(user.getId(), SORT_BY_START_DESC);
+        List<ItemBooking> bookings = bookingRepo.findByItemIdInAndStatusNot(List.of(item.getId()), WAITING,
+                SORT_BY_START_DESC);
 
         assertFalse(bookings.isEmpty());
     }
 
     @Test
-    void findAllByOwnerIdAndStatus() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
+    void findAllByUserIdAndCursor() {
+        Booking first = bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker));
+        Booking second = bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.minusDays(1), WAITING, item, booker));
+        Booking third = bookingRepo.save(getNewBooking(NOW.minusDays(4), NOW.minusDays(3), APPROVED, item, booker));
 
-        List<Booking> bookings = bookingRepo.findAllByOwnerIdAndStatus(user.getId(), APPROVED, SORT_BY_START_DESC);
+        List<BookingDtoResponse> bookings = bookingRepo.findAllByUserId(booker.getId(),
+                BookingBounds.ALL.after(second.getStart(), second.getId()),
+                PageRequest.of(0, 10, SORT_BY_START_DESC_ID_DESC));
 
-        assertFalse(bookings.isEmpty());
+        assertEquals(List.of(first.getId(), third.getId()), bookings.stream().map(BookingDtoResponse::getId).collect(toList()));
     }
 
     @Test
-    void findAllByOwnerIdAndStatusAndCurrentTime() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.plusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
-
-        List<Booking> bookings = bookingRepo.findAllByOwnerIdAndCurrentTime(user.getId(), SORT_BY_START_DESC);
-
-        assertFalse(bookings.isEmpty());
+    void findAllByUserIdAndBounds_whenStartsAreEqual_thenPageByIdWithoutGapsOrRepeats() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Booking booking = bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker));
+            ids.add(booking.getId());
+        }
+        ids.sort(Comparator.reverseOrder());
+
+        List<Long> paged = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            bookingRepo.findAllByUserId(booker.getId(), BookingBounds.ALL,
+                            PageRequest.of(page, 2, SORT_BY_START_DESC_ID_DESC))
+                    .forEach(booking -> paged.add(booking.getId()));
+        }
+
+        assertEquals(ids, paged);
     }
 
     @Test
-    void findAllByOwnerIdAndStatusAndStartAfter() {
-        Booking booking = getNewBooking(NOW.plusDays(2), NOW.plusDays(3), APPROVED, item, booker);
-        bookingRepo.save(booking);
+    void findAllByUserIdAndBounds_whenCurrent_thenReturnOnlyStartedAndNotEnded() {
+        Booking current = bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.plusDays(1), APPROVED, item, booker));
+        bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker));
+        bookingRepo.save(getNewBooking(NOW.plusDays(1), NOW.plusDays(2), APPROVED, item, booker));
 
-        List<Booking> bookings = bookingRepo.findAllByOwnerIdAndStartAfter(user.getId(), SORT_BY_START_DESC);
+        List<BookingDtoResponse> bookings = bookingRepo.findAllByUserId(booker.getId(),
+                BookingBounds.ALL.withStartUntil(NOW).withEndFrom(NOW),
+                PageRequest.of(0, 10, SORT_BY_START_DESC_ID_DESC));
 
-        assertFalse(bookings.isEmpty());
+        assertEquals(List.of(current.getId()), bookings.stream().map(BookingDtoResponse::getId).collect(toList()));
     }
 
     @Test
-    void findAllByOwnerIdAndStatusAndEndBefore() {
-        Booking booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
-        bookingRepo.save(booking);
+    void findAllByOwnerIdAndStatusAndCursor() {
+        Booking first = bookingRepo.save(getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker));
+        bookingRepo.save(getNewBooking(NOW.minusDays(3), NOW.minusDays(2), WAITING, item, booker));
+        Booking third = bookingRepo.save(getNewBooking(NOW.minusDays(4), NOW.minusDays(3), APPROVED, item, booker));
 
-        List<Booking> bookings = bookingRepo.findAllByOwnerIdAndEndBefore(user.getId(), SORT_BY_START_DESC);
+        List<BookingDtoResponse> bookings = bookingRepo.findAllByOwnerId(user.getId(),
+                BookingBounds.ALL.withStatus(APPROVED).after(first.getStart(), first.getId()),
+                PageRequest.of(0, 10, SORT_BY_START_DESC_ID_DESC));
 
-        assertFalse(bookings.isEmpty());
+        assertEquals(List.of(third.getId()), bookings.stream().map(BookingDtoResponse::getId).collect(toList()));
     }
 
     @AfterEach
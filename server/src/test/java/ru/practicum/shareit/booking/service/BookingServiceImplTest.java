@@ -7,18 +7,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingBounds;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.OffsetPageRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.IncorrectCursor;
 import ru.practicum.shareit.exception.IncorrectIdException;
 import ru.practicum.shareit.exception.IncorrectState;
 import ru.practicum.shareit.exception.UnavailableItemException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemCalendar;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
@@ -30,6 +37,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.model.Status.*;
 import static ru.practicum.shareit.util.BookingTest.getNewBooking;
@@ -39,6 +52,9 @@ import static ru.practicum.shareit.util.UserTest.getNewUser;
 @ExtendWith(MockitoExtension.class)
 class BookingServiceImplTest {
     private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start");
+    private static final Sort SORT_BY_START_DESC_ID_DESC = SORT_BY_START_DESC.and(Sort.by(Sort.Direction.DESC, "id"));
+    private static final OffsetPageRequest OFFSET_PAGE = OffsetPageRequest.of(2, 1, SORT_BY_START_DESC_ID_DESC);
+    private static final PageRequest CURSOR_PAGE = PageRequest.of(0, 1, SORT_BY_START_DESC_ID_DESC);
     private static final LocalDateTime NOW = LocalDateTime.now();
 
     @InjectMocks
@@ -50,6 +66,10 @@ class BookingServiceImplTest {
     private ItemRepository itemRepo;
     @Mock
     private UserRepository userRepo;
+    @Mock
+    private ItemCalendar calendar;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     private User owner;
     private Item item;
@@ -64,6 +84,7 @@ class BookingServiceImplTest {
         LocalDateTime end = NOW.minusDays(1);
         owner = getNewUser(1L, "name", "email@mail.com");
         item = getNewItem(1L, "name", "description", true, owner);
+        item.setVersion(0L);
         booker = getNewUser(2L, "booker", "booker@mail.com");
         booking = getNewBooking(1L, start, end, WAITING, item, booker);
         bookingDtoRequest = BookingDtoRequest
@@ -81,17 +102,22 @@ class BookingServiceImplTest {
                 .booker(new BookingDtoResponse.Booker(2L, "booker"))
                 .item(new BookingDtoResponse.Item(1L, "name"))
                 .build();
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
     void save_whenUserIdIsCorrectAndItemIsAvailable_thenReturnBookingDto() {
         when(itemRepo.findById(1L)).thenReturn(Optional.ofNullable(item));
         when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
-        when(bookingRepo.saveAndFlush(any(Booking.class))).thenReturn(booking);
+        when(bookingRepo.save(any(Booking.class))).thenReturn(booking);
+        when(itemRepo.incrementBookingVersion(1L)).thenReturn(1L);
 
         BookingDtoResponse result = service.save(bookingDtoRequest, 2L);
 
         assertEquals(bookingDtoResponse, result);
+        verify(itemRepo, never()).incrementVersion(anyLong(), anyLong());
+        verify(calendar).occupy(1L, booking.getStart(), booking.getEnd(), 1L);
     }
 
     @Test
@@ -111,36 +137,106 @@ class BookingServiceImplTest {
         assertThrows(UnavailableItemException.class, () -> service.save(bookingDtoRequest, 2L));
     }
 
+    @Test
+    void save_whenPeriodOverlapsApprovedBooking_thenThrowBookingOverlapException() {
+        when(itemRepo.findById(1L)).thenReturn(Optional.ofNullable(item));
+        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
+        when(bookingRepo.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(1L, APPROVED,
+                bookingDtoRequest.getEnd()))
+                .thenReturn(Optional.of(getNewBooking(2L, NOW.minusDays(3), NOW.minusHours(36), APPROVED, item, booker)));
+
+        assertThrows(BookingOverlapException.class, () -> service.save(bookingDtoRequest, 2L));
+    }
+
+    @Test
+    void save_whenApprovedBookingEndsAtStart_thenReturnBookingDto() {
+        when(itemRepo.findById(1L)).thenReturn(Optional.ofNullable(item));
+        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
+        when(bookingRepo.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(1L, APPROVED,
+                bookingDtoRequest.getEnd()))
+                .thenReturn(Optional.of(getNewBooking(2L, NOW.minusDays(3), bookingDtoRequest.getStart(), APPROVED,
+                        item, booker)));
+        when(bookingRepo.save(any(Booking.class))).thenReturn(booking);
+
+        BookingDtoResponse result = service.save(bookingDtoRequest, 2L);
+
+        assertEquals(bookingDtoResponse, result);
+    }
+
+    @Test
+    void update_whenPeriodOverlapsApprovedBooking_thenThrowBookingOverlapException() {
+        when(bookingRepo.findWithItemAndUserById(1L)).thenReturn(Optional.ofNullable(booking));
+        when(itemRepo.incrementVersion(1L, 0L)).thenReturn(1);
+        when(bookingRepo.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(1L, APPROVED, booking.getEnd()))
+                .thenReturn(Optional.of(getNewBooking(2L, NOW.minusDays(3), NOW.minusHours(36), APPROVED, item, booker)));
+
+        assertThrows(BookingOverlapException.class, () -> service.update(1L, 1L, true));
+        assertEquals(WAITING, booking.getStatus());
+    }
+
     @Test
     void update_whenBookingIsApproved_thenReturnApprovedBookingDto() {
-        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(booking));
+        when(bookingRepo.findWithItemAndUserById(1L)).thenReturn(Optional.ofNullable(booking));
+        when(itemRepo.incrementVersion(1L, 0L)).thenReturn(1);
+        when(itemRepo.incrementBookingVersion(1L)).thenReturn(2L);
+        bookingDtoResponse.setStatus(APPROVED);
+
+        BookingDtoResponse result = service.update(1L, 1L, true);
+
+        assertEquals(bookingDtoResponse, result);
+        verify(calendar).occupy(1L, booking.getStart(), booking.getEnd(), 2L);
+    }
+
+    @Test
+    void update_whenItemVersionIsStale_thenRetryWithFreshState() {
+        Item fresh = getNewItem(1L, "name", "description", true, owner);
+        fresh.setVersion(1L);
+        when(bookingRepo.findWithItemAndUserById(1L))
+                .thenReturn(Optional.of(getNewBooking(1L, booking.getStart(), booking.getEnd(), WAITING, item, booker)))
+                .thenReturn(Optional.of(getNewBooking(1L, booking.getStart(), booking.getEnd(), WAITING, fresh, booker)));
+        when(itemRepo.incrementVersion(1L, 0L)).thenReturn(0);
+        when(itemRepo.incrementVersion(1L, 1L)).thenReturn(1);
         bookingDtoResponse.setStatus(APPROVED);
 
         BookingDtoResponse result = service.update(1L, 1L, true);
 
         assertEquals(bookingDtoResponse, result);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void update_whenConflictPersists_thenThrowAfterLastAttempt() {
+        when(bookingRepo.findWithItemAndUserById(1L)).thenReturn(Optional.ofNullable(booking));
+        when(itemRepo.incrementVersion(1L, 0L)).thenReturn(0);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.update(1L, 1L, true));
+        verify(transactionTemplate, times(5)).execute(any());
+        assertEquals(WAITING, booking.getStatus());
     }
 
     @Test
     void update_whenBookingIsNotApproved_thenReturnREjectedBookingDto() {
-        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(booking));
+        when(bookingRepo.findWithItemAndUserById(1L)).thenReturn(Optional.ofNullable(booking));
+        when(itemRepo.incrementVersion(1L, 0L)).thenReturn(1);
         bookingDtoResponse.setStatus(REJECTED);
 
         BookingDtoResponse result = service.update(1L, 1L, false);
 
         assertEquals(bookingDtoResponse, result);
+        verify(itemRepo).incrementBookingVersion(1L);
+        verify(calendar, never()).occupy(anyLong(), any(), any(), anyLong());
     }
 
     @Test
     void update_whenCurrentIdIsNotOwnerId_thenThrowIncorrectException() {
-        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(booking));
+        when(bookingRepo.findWithItemAndUserById(1L)).thenReturn(Optional.ofNullable(booking));
 
         assertThrows(IncorrectIdException.class, () -> service.update(1L, 2L, true));
     }
 
     @Test
     void update_whenBookingIsApproved_thenThrowUnavailableItemException() {
-        when(bookingRepo.findById(1L)).thenReturn(Optional.ofNullable(booking));
+        when(bookingRepo.findWithItemAndUserById(1L)).thenReturn(Optional.ofNullable(booking));
         booking.setStatus(APPROVED);
 
         assertThrows(UnavailableItemException.class, () -> service.update(1L, 1L, true));
@@ -157,20 +253,26 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByUserId_whenStatusIsALL_thenReturnBookings() {
-        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
-        when(bookingRepo.findAllByUserId(2L, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByUserId(2L, BookingBounds.ALL, OFFSET_PAGE))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByUserId(2L, "ALL", 2, 1);
 
         assertEquals(List.of(bookingDtoResponse), result);
     }
 
+    @Test
+    void findAllByUserId_whenUserIsNotFound_thenThrowIncorrectIdException() {
+        when(userRepo.existsById(2L)).thenReturn(false);
+
+        assertThrows(IncorrectIdException.class, () -> service.findAllByUserId(2L, "ALL", 0, 1));
+        verify(userRepo, never()).findById(anyLong());
+    }
+
     @Test
     void findAllByUserId_whenStatusIsCURRENT_thenReturnBookings() {
-        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
-        when(bookingRepo.findAllByUserIdAndCurrentTime(2L, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByUserId(eq(2L), current(), eq(OFFSET_PAGE)))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByUserId(2L, "CURRENT", 2, 1);
 
@@ -179,9 +281,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByUserId_whenStatusIsPAST_thenReturnBookings() {
-        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
-        when(bookingRepo.findAllByUserIdAndEndBefore(2L, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByUserId(eq(2L), past(), eq(OFFSET_PAGE)))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByUserId(2L, "PAST", 2, 1);
 
@@ -190,9 +291,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByUserId_whenStatusIsFUTURE_thenReturnBookings() {
-        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
-        when(bookingRepo.findAllByUserIdAndStartAfter(2L, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByUserId(eq(2L), future(), eq(OFFSET_PAGE)))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByUserId(2L, "FUTURE", 2, 1);
 
@@ -201,9 +301,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByUserId_whenStatusIsWAITING_thenReturnBookings() {
-        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
-        when(bookingRepo.findAllByUserIdAndStatus(2L, WAITING, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByUserId(2L, BookingBounds.ALL.withStatus(WAITING), OFFSET_PAGE))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByUserId(2L, "WAITING", 2, 1);
 
@@ -212,9 +311,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByUserId_whenStatusIsREJECTED_thenReturnBookings() {
-        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(booker));
-        when(bookingRepo.findAllByUserIdAndStatus(2L, REJECTED, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByUserId(2L, BookingBounds.ALL.withStatus(REJECTED), OFFSET_PAGE))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByUserId(2L, "REJECTED", 2, 1);
 
@@ -238,9 +336,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByOwnerId_whenStatusIsALL_thenReturnBookings() {
-        when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
-        when(bookingRepo.findAllByOwnerId(1L, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByOwnerId(1L, BookingBounds.ALL, OFFSET_PAGE))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByOwnerId(1L, "ALL", 2, 1);
 
@@ -249,9 +346,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByOwnerId_whenStatusIsCURRENT_thenReturnBookings() {
-        when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
-        when(bookingRepo.findAllByOwnerIdAndCurrentTime(1L, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByOwnerId(eq(1L), current(), eq(OFFSET_PAGE)))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByOwnerId(1L, "CURRENT", 2, 1);
 
@@ -260,9 +356,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByOwnerId_whenStatusIsPAST_thenReturnBookings() {
-        when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
-        when(bookingRepo.findAllByOwnerIdAndEndBefore(1L, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByOwnerId(eq(1L), past(), eq(OFFSET_PAGE)))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByOwnerId(1L, "PAST", 2, 1);
 
@@ -271,9 +366,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByOwnerId_whenStatusIsFUTURE_thenReturnBookings() {
-        when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
-        when(bookingRepo.findAllByOwnerIdAndStartAfter(1L, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByOwnerId(eq(1L), future(), eq(OFFSET_PAGE)))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByOwnerId(1L, "FUTURE", 2, 1);
 
@@ -282,9 +376,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByOwnerId_whenStatusIsWAITING_thenReturnBookings() {
-        when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
-        when(bookingRepo.findAllByOwnerIdAndStatus(1L, WAITING, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByOwnerId(1L, BookingBounds.ALL.withStatus(WAITING), OFFSET_PAGE))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByOwnerId(1L, "WAITING", 2, 1);
 
@@ -293,9 +386,8 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByOwnerId_whenStatusIsREJECTED_thenReturnBookings() {
-        when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
-        when(bookingRepo.findAllByOwnerIdAndStatus(1L, REJECTED, PageRequest.of(2, 1, SORT_BY_START_DESC)))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        when(bookingRepo.findAllByOwnerId(1L, BookingBounds.ALL.withStatus(REJECTED), OFFSET_PAGE))
+                .thenReturn(List.of(bookingDtoResponse));
 
         List<BookingDtoResponse> result = service.findAllByOwnerId(1L, "REJECTED", 2, 1);
 
@@ -312,6 +404,55 @@ class BookingServiceImplTest {
         assertThrows(IncorrectState.class, () -> service.findAllByOwnerId(1L, "    ", 2, 1));
     }
 
+    @Test
+    void findAllByUserIdAfter_whenStatusIsALL_thenReturnBookings() {
+        when(bookingRepo.findAllByUserId(2L, BookingBounds.ALL.after(NOW, 5L), CURSOR_PAGE))
+                .thenReturn(List.of(bookingDtoResponse));
+
+        List<BookingDtoResponse> result = service.findAllByUserIdAfter(2L, "ALL", NOW + ",5", 1);
+
+        assertEquals(List.of(bookingDtoResponse), result);
+    }
+
+    @Test
+    void findAllByUserIdAfter_whenCursorIsIncorrect_thenThrowIncorrectCursor() {
+        assertThrows(IncorrectCursor.class, () -> service.findAllByUserIdAfter(2L, "ALL", "5", 1));
+        assertThrows(IncorrectCursor.class, () -> service.findAllByUserIdAfter(2L, "ALL", "yesterday,5", 1));
+        assertThrows(IncorrectCursor.class, () -> service.findAllByUserIdAfter(2L, "ALL", NOW + ",x", 1));
+    }
+
+    @Test
+    void findAllByOwnerIdAfter_whenStatusIsWAITING_thenReturnBookings() {
+        when(bookingRepo.findAllByOwnerId(1L, BookingBounds.ALL.withStatus(WAITING).after(NOW, 5L),
+                CURSOR_PAGE))
+                .thenReturn(List.of(bookingDtoResponse));
+
+        List<BookingDtoResponse> result = service.findAllByOwnerIdAfter(1L, "WAITING", NOW + ",5", 1);
+
+        assertEquals(List.of(bookingDtoResponse), result);
+    }
+
+    @Test
+    void findAllByOwnerIdAfter_whenStatusIsAll_thenThrowIncorrectState() {
+        assertThrows(IncorrectState.class, () -> service.findAllByOwnerIdAfter(1L, "All", NOW + ",5", 1));
+    }
+
+    private static BookingBounds current() {
+        return argThat(bounds -> bounds.getStartUntil().isBefore(BookingBounds.MAX) && bounds.equals(BookingBounds.ALL
+                .withStartUntil(bounds.getStartUntil())
+                .withEndFrom(bounds.getStartUntil())));
+    }
+
+    private static BookingBounds past() {
+        return argThat(bounds -> bounds.getEndBefore().isBefore(BookingBounds.MAX)
+                && bounds.equals(BookingBounds.ALL.withEndBefore(bounds.getEndBefore())));
+    }
+
+    private static BookingBounds future() {
+        return argThat(bounds -> bounds.getStartAfter().isAfter(BookingBounds.MIN)
+                && bounds.equals(BookingBounds.ALL.withStartAfter(bounds.getStartAfter())));
+    }
+
     @AfterEach
     void afterEach() {
         bookingRepo.deleteAll();
@@ -4,18 +4,39 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.UnavailableItemException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static ru.practicum.shareit.booking.model.Status.APPROVED;
 
 @Transactional
 @SpringBootTest
 class BookingServiceTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
     @Autowired
     private BookingService service;
+    @Autowired
+    private BookingRepository repository;
 
     @Test
     @Sql("classpath:reboot.sql")
@@ -25,4 +46,100 @@ class BookingServiceTest {
 
         assertEquals(1, result.get(0).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql("classpath:reboot.sql")
+    @Sql("classpath:test.sql")
+    void findAllByUser_whenFromIsNotMultipleOfSize_thenStartAtFrom() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long later = service.save(getBookingDto(start.plusDays(2), start.plusDays(3)), 2).getId();
+        long sooner = service.save(getBookingDto(start, start.plusDays(1)), 2).getId();
+
+        List<BookingDtoResponse> result = service.findAllByUserId(2, "ALL", 1, 2);
+
+        assertEquals(List.of(sooner, 1L), result.stream().map(BookingDtoResponse::getId).collect(toList()));
+        assertEquals(later, service.findAllByUserId(2, "ALL", 0, 1).get(0).getId());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql("classpath:reboot.sql")
+    @Sql("classpath:test.sql")
+    @Sql(scripts = "classpath:reboot.sql", executionPhase = AFTER_TEST_METHOD)
+    void update_whenOverlappingBookingsAreApprovedConcurrently_thenApproveOnlyOne() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long first = service.save(getBookingDto(start, start.plusDays(2)), 2).getId();
+        long second = service.save(getBookingDto(start.plusDays(1), start.plusDays(3)), 2).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<BookingDtoResponse>> approvals = new ArrayList<>();
+        try {
+            for (long id : List.of(first, second)) {
+                approvals.add(executor.submit(() -> {
+                    ready.await();
+                    return service.update(id, 1, true);
+                }));
+            }
+            ready.countDown();
+
+            int approved = 0;
+            int rejected = 0;
+            for (Future<BookingDtoResponse> approval : approvals) {
+                try {
+                    assertEquals(APPROVED, approval.get().getStatus());
+                    approved++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(BookingOverlapException.class, e.getCause());
+                    rejected++;
+                }
+            }
+            assertEquals(1, approved);
+            assertEquals(1, rejected);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql("classpath:reboot.sql")
+    @Sql("classpath:test.sql")
+    @Sql(scripts = "classpath:reboot.sql", executionPhase = AFTER_TEST_METHOD)
+    void update_whenSameBookingIsApprovedFromManyThreads_thenChangeStatusExactlyOnce() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                long id = service.save(getBookingDto(start.plusDays(round), start.plusDays(round).plusHours(12)), 2)
+                        .getId();
+                CountDownLatch ready = new CountDownLatch(1);
+                List<Future<BookingDtoResponse>> approvals = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    approvals.add(executor.submit(() -> {
+                        ready.await();
+                        return service.update(id, 1, true);
+                    }));
+                }
+                ready.countDown();
+
+                int approved = 0;
+                for (Future<BookingDtoResponse> approval : approvals) {
+                    try {
+                        assertEquals(APPROVED, approval.get().getStatus());
+                        approved++;
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(UnavailableItemException.class, e.getCause());
+                    }
+                }
+                assertEquals(1, approved, "round " + round);
+                assertEquals(1, repository.findById(id).orElseThrow().getVersion(), "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BookingDtoRequest getBookingDto(LocalDateTime start, LocalDateTime end) {
+        return BookingDtoRequest.builder().start(start).end(end).itemId(1L).build();
+    }
+}
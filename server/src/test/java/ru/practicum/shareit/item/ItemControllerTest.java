@@ -7,20 +7,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -86,6 +94,58 @@ class ItemControllerTest {
         assertEquals(objectMapper.writeValueAsString(response), result);
     }
 
+    @SneakyThrows
+    @Test
+    void saveAll_whenBodyIsJsonArray_thenReturnResultPerRow() {
+        ItemBulkResult saved = ItemBulkResult.builder().index(0).id(1L).build();
+        ItemBulkResult rejected = ItemBulkResult.builder().index(1).error("Item request 9 not found").build();
+        when(service.saveAll(anyList(), anyLong())).thenReturn(List.of(saved, rejected));
+
+        String result = mockMvc.perform(post("/items/bulk")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(List.of(request, request)))
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        verify(service, times(1)).saveAll(eq(List.of(request, request)), eq(1L));
+        assertEquals(objectMapper.writeValueAsString(List.of(saved, rejected)), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void saveAll_whenBodyIsNdjson_thenReadEveryLine() {
+        ItemBulkResult first = ItemBulkResult.builder().index(0).id(1L).build();
+        ItemBulkResult second = ItemBulkResult.builder().index(1).id(2L).build();
+        when(service.saveAll(anyList(), anyLong())).thenReturn(List.of(first, second));
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(request) + "\n" + objectMapper.writeValueAsString(request) + "\n")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(service, times(1)).saveAll(eq(List.of(request, request)), eq(1L));
+    }
+
+    @SneakyThrows
+    @Test
+    void saveAll_whenBodyIsEmptyArray_thenDoNotCallService() {
+        String result = mockMvc.perform(post("/items/bulk")
+                        .contentType("application/json")
+                        .content("[]")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        verify(service, never()).saveAll(anyList(), anyLong());
+        assertEquals("[]", result);
+    }
+
     @SneakyThrows
     @Test
     void saveComment() {
@@ -141,6 +201,55 @@ class ItemControllerTest {
         assertEquals(objectMapper.writeValueAsString(response), result);
     }
 
+    @SneakyThrows
+    @Test
+    void findById_whenETagMatches_thenReturnNotModified() {
+        when(service.findETag(1L, 1L)).thenReturn(Optional.of("1-0"));
+
+        mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""))
+                .andExpect(content().string(""));
+
+        verify(service, never()).findById(anyLong(), anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    void findById_whenETagDiffers_thenReturnItemWithETag() {
+        when(service.findETag(1L, 1L)).thenReturn(Optional.of("2-0"));
+        when(service.findById(1L, 1L)).thenReturn(response);
+
+        mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-0\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(response)));
+    }
+
+    @SneakyThrows
+    @Test
+    void findAvailability() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(7);
+        List<FreeSlotDto> slots = List.of(new FreeSlotDto(from, from.plusDays(1)), new FreeSlotDto(from.plusDays(3), to));
+        when(service.findAvailability(1L, from, to)).thenReturn(slots);
+
+        String result = mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(slots), result);
+    }
+
     @SneakyThrows
     @Test
     void findAll() {
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
@@ -16,6 +19,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ru.practicum.shareit.util.ItemTest.getNewItem;
 import static ru.practicum.shareit.util.RequestTest.getNewRequest;
 import static ru.practicum.shareit.util.UserTest.getNewUser;
@@ -50,52 +54,76 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findItemsByUserIdPageable() {
-        List<Item> result = itemRepo.findItemsByUserId(user.getId(), PageRequest.of(0, 1));
+    void incrementVersion_whenVersionIsCurrent_thenUpdateOnce() {
+        itemRepo.flush();
 
-        assertEquals(item, result.get(0));
+        assertEquals(1, itemRepo.incrementVersion(item.getId(), 0L));
+        assertEquals(0, itemRepo.incrementVersion(item.getId(), 0L));
     }
 
     @Test
-    void findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase_whenName() {
-        String text = "nam";
+    void incrementBookingVersion_whenStateIsCreated_thenReturnNewVersion() {
+        itemRepo.createBookingStates(List.of(item.getId()));
 
-        List<Item> result = itemRepo
-                .findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(text, text);
+        assertEquals(1, itemRepo.incrementBookingVersion(item.getId()));
+        assertEquals(2, itemRepo.incrementBookingVersion(item.getId()));
+        assertEquals(2, itemRepo.findBookingVersionById(item.getId()).orElseThrow());
+    }
 
-        assertEquals(item, result.get(0));
+    @Test
+    void findItemsByUserIdPageable() {
+        List<ItemDtoResponse> result = itemRepo.findItemsByUserId(user.getId(), PageRequest.of(0, 1));
+
+        assertEquals(ItemMapper.mapToItemDto(item), result.get(0));
     }
 
     @Test
-    void findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase_whenDescription() {
-        String text = "des";
+    void findAvailableByText_whenName() {
+        List<ItemDtoResponse> result = itemRepo.findAvailableByText("NaM", PageRequest.of(0, 1));
 
-        List<Item> result = itemRepo
-                .findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(text, text);
+        assertEquals(List.of(ItemMapper.mapToItemDto(item)), result);
+    }
 
-        assertEquals(item, result.get(0));
+    @Test
+    void findAvailableByText_whenDescription() {
+        List<ItemDtoResponse> result = itemRepo.findAvailableByText("des", PageRequest.of(0, 1));
+
+        assertEquals(List.of(ItemMapper.mapToItemDto(item)), result);
     }
 
     @Test
-    void findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCasePageable_whenName() {
-        String text = "nam";
+    void findAvailableByText_whenItemIsNotAvailable_thenReturnEmptyList() {
+        item.setAvailable(false);
+        itemRepo.save(item);
 
-        List<Item> result = itemRepo
-                .findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(text, text,
-                        PageRequest.of(0, 1));
+        List<ItemDtoResponse> result = itemRepo.findAvailableByText("nam", PageRequest.of(0, 1));
 
-        assertEquals(item, result.get(0));
+        assertTrue(result.isEmpty());
     }
 
     @Test
-    void findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCasePageable_whenDescription() {
-        String text = "des";
+    void findAvailableByText_whenTextContainsWildcard_thenMatchItLiterally() {
+        List<ItemDtoResponse> result = itemRepo.findAvailableByText("n%e", PageRequest.of(0, 1));
 
-        List<Item> result = itemRepo
-                .findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(text, text,
-                        PageRequest.of(0, 1));
+        assertTrue(result.isEmpty());
+    }
 
-        assertEquals(item, result.get(0));
+    @Test
+    void findItemsByIdIn_whenItemHasNoRequest_thenReturnItemWithoutRequestId() {
+        Item other = itemRepo.save(getNewItem("other", "other", true, user));
+
+        List<ItemDtoResponse> result = itemRepo.findItemsByIdIn(List.of(item.getId(), other.getId()));
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(i -> i.getId().equals(other.getId()) && i.getRequestId() == null));
+    }
+
+    @Test
+    void findItemsByItemRequestIdIn() {
+        List<ItemRequestDtoResponse.ItemDto> result = itemRepo.findItemsByItemRequestIdIn(List.of(itemRequest.getId()));
+
+        assertEquals(item.getId(), result.get(0).getId());
+        assertEquals(itemRequest.getId(), result.get(0).getRequestId());
     }
 
     @Test
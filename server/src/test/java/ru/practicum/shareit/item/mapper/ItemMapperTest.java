@@ -2,7 +2,8 @@ package ru.practicum.shareit.item.mapper;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dao.ItemBooking;
+import ru.practicum.shareit.item.dao.ItemComment;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -14,8 +15,6 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static ru.practicum.shareit.booking.model.Status.APPROVED;
-import static ru.practicum.shareit.util.BookingTest.getNewBooking;
 import static ru.practicum.shareit.util.CommentTest.getNewComment;
 import static ru.practicum.shareit.util.ItemTest.getNewItem;
 import static ru.practicum.shareit.util.UserTest.getNewUser;
@@ -25,16 +24,18 @@ class ItemMapperTest {
     private static final Instant NOW_INSTANT = Instant.now();
 
     private Item item;
-    private Booking booking;
     private Comment comment;
+    private ItemComment itemComment;
+    private ItemBooking itemBooking;
 
     @BeforeEach
     void beforeEach() {
         User user = getNewUser("name", "email@mail.com");
         item = getNewItem("name", "description", true, user);
         User booker = getNewUser("booker", "booker@mail.com");
-        booking = getNewBooking(NOW.minusDays(2), NOW.minusDays(1), APPROVED, item, booker);
         comment = getNewComment(1L, "text", NOW_INSTANT, item, booker);
+        itemComment = new ItemComment(item.getId(), 1L, "text", booker.getName(), NOW_INSTANT);
+        itemBooking = new ItemBooking(item.getId(), 1L, NOW.minusDays(2), NOW.minusDays(1), 2L);
     }
 
     @Test
@@ -88,61 +89,49 @@ class ItemMapperTest {
 
     @Test
     void mapToBookingDto_whenAllArgumentsIsCorrect_thenReturnItemDtoWithBookings() {
-        List<Comment> comments = List.of(comment);
-        List<Booking> bookings = List.of(booking);
+        List<ItemComment> comments = List.of(itemComment);
+        List<ItemBooking> bookings = List.of(itemBooking);
 
-        ItemDtoResponse result = ItemMapper.mapToItemDto(item, comments, bookings);
+        ItemDtoResponse result = ItemMapper.mapToItemDto(ItemMapper.mapToItemDto(item), comments, bookings);
 
         assertEquals(item.getId(), result.getId());
         assertEquals(item.getName(), result.getName());
         assertEquals(item.getDescription(), result.getDescription());
         assertEquals(item.getAvailable(), result.getAvailable());
-        assertEquals(comment.getId(), result.getComments().get(0).getId());
-        assertEquals(comment.getText(), result.getComments().get(0).getText());
-        assertEquals(comment.getCreated(), result.getComments().get(0).getCreated());
-        assertEquals(comment.getUser().getName(), result.getComments().get(0).getAuthorName());
-        assertEquals(booking.getId(), result.getLastBooking().getId());
-        assertEquals(booking.getUser().getId(), result.getLastBooking().getBookerId());
-        assertEquals(booking.getStart(), result.getLastBooking().getStart());
-        assertEquals(booking.getEnd(), result.getLastBooking().getEnd());
+        assertEquals(itemComment.getId(), result.getComments().get(0).getId());
+        assertEquals(itemComment.getText(), result.getComments().get(0).getText());
+        assertEquals(itemComment.getCreated(), result.getComments().get(0).getCreated());
+        assertEquals(itemComment.getAuthorName(), result.getComments().get(0).getAuthorName());
+        assertEquals(itemBooking.getId(), result.getLastBooking().getId());
+        assertEquals(itemBooking.getBookerId(), result.getLastBooking().getBookerId());
+        assertEquals(itemBooking.getStart(), result.getLastBooking().getStart());
+        assertEquals(itemBooking.getEnd(), result.getLastBooking().getEnd());
         assertNull(result.getNextBooking());
     }
 
     @Test
     void mapToBookingDto_whenBookingsIsNull_thenReturnItemDtoWithoutBookings() {
-        List<Comment> comments = List.of(comment);
-        List<Booking> bookings = null;
+        List<ItemComment> comments = List.of(itemComment);
+        List<ItemBooking> bookings = null;
 
-        ItemDtoResponse result = ItemMapper.mapToItemDto(item, comments, bookings);
+        ItemDtoResponse result = ItemMapper.mapToItemDto(ItemMapper.mapToItemDto(item), comments, bookings);
 
         assertEquals(item.getId(), result.getId());
-        assertEquals(item.getName(), result.getName());
-        assertEquals(item.getDescription(), result.getDescription());
-        assertEquals(item.getAvailable(), result.getAvailable());
-        assertEquals(comment.getId(), result.getComments().get(0).getId());
-        assertEquals(comment.getText(), result.getComments().get(0).getText());
-        assertEquals(comment.getCreated(), result.getComments().get(0).getCreated());
-        assertEquals(comment.getUser().getName(), result.getComments().get(0).getAuthorName());
+        assertEquals(itemComment.getId(), result.getComments().get(0).getId());
         assertNull(result.getLastBooking());
         assertNull(result.getNextBooking());
     }
 
     @Test
     void mapToBookingDto_whenBookingsIsEmpty_thenReturnItemDtoWithoutBookings() {
-        List<Comment> comments = List.of(comment);
-        List<Booking> bookings = Collections.emptyList();
+        List<ItemComment> comments = Collections.emptyList();
+        List<ItemBooking> bookings = Collections.emptyList();
 
-        ItemDtoResponse result = ItemMapper.mapToItemDto(item, comments, bookings);
+        ItemDtoResponse result = ItemMapper.mapToItemDto(ItemMapper.mapToItemDto(item), comments, bookings);
 
         assertEquals(item.getId(), result.getId());
-        assertEquals(item.getName(), result.getName());
-        assertEquals(item.getDescription(), result.getDescription());
-        assertEquals(item.getAvailable(), result.getAvailable());
-        assertEquals(comment.getId(), result.getComments().get(0).getId());
-        assertEquals(comment.getText(), result.getComments().get(0).getText());
-        assertEquals(comment.getCreated(), result.getComments().get(0).getCreated());
-        assertEquals(comment.getUser().getName(), result.getComments().get(0).getAuthorName());
+        assertTrue(result.getComments().isEmpty());
         assertNull(result.getLastBooking());
         assertNull(result.getNextBooking());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.item.dao.ItemBooking;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCalendarTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepo;
+    @Mock
+    private ItemRepository itemRepo;
+
+    @Test
+    void findFree_whenBookingsOverlap_thenMergeThemAndReturnGaps() {
+        ItemCalendar calendar = new ItemCalendar(bookingRepo, itemRepo, 10);
+        when(bookingRepo.findByItemIdAndStatusIn(eq(1L), anyList())).thenReturn(List.of(
+                booking(1, 3),
+                booking(2, 4),
+                booking(4, 5),
+                booking(7, 8)));
+
+        List<FreeSlotDto> result = calendar.findFree(1L, day(0), day(10));
+
+        assertEquals(List.of(slot(0, 1), slot(5, 7), slot(8, 10)), result);
+    }
+
+    @Test
+    void findFree_whenWindowStartsInsideBusyPeriod_thenStartFromItsEnd() {
+        ItemCalendar calendar = new ItemCalendar(bookingRepo, itemRepo, 10);
+        when(bookingRepo.findByItemIdAndStatusIn(eq(1L), anyList())).thenReturn(List.of(
+                booking(1, 3),
+                booking(7, 8)));
+
+        assertEquals(List.of(slot(3, 6)), calendar.findFree(1L, day(2), day(6)));
+        assertEquals(List.of(), calendar.findFree(1L, day(7), day(8)));
+        assertEquals(List.of(slot(8, 9)), calendar.findFree(1L, day(7), day(9)));
+    }
+
+    @Test
+    void findFree_whenCalendarIsCached_thenLoadBookingsOnce() {
+        ItemCalendar calendar = new ItemCalendar(bookingRepo, itemRepo, 10);
+        when(bookingRepo.findByItemIdAndStatusIn(eq(1L), anyList())).thenReturn(List.of(booking(1, 3)));
+
+        calendar.findFree(1L, day(0), day(10));
+        calendar.findFree(1L, day(5), day(10));
+
+        verify(bookingRepo, times(1)).findByItemIdAndStatusIn(eq(1L), anyList());
+    }
+
+    @Test
+    void occupy_whenCalendarIsCached_thenMergePeriodWithoutReload() {
+        ItemCalendar calendar = new ItemCalendar(bookingRepo, itemRepo, 10);
+        when(bookingRepo.findByItemIdAndStatusIn(eq(1L), anyList())).thenReturn(List.of(
+                booking(1, 3),
+                booking(7, 8)));
+        when(itemRepo.findBookingVersionById(1L)).thenReturn(Optional.of(0L), Optional.of(2L));
+        calendar.findFree(1L, day(0), day(10));
+
+        calendar.occupy(1L, day(3), day(5), 1L);
+        calendar.occupy(1L, day(0), day(1), 2L);
+
+        assertEquals(List.of(slot(5, 7), slot(8, 10)), calendar.findFree(1L, day(0), day(10)));
+        verify(bookingRepo, times(1)).findByItemIdAndStatusIn(eq(1L), anyList());
+    }
+
+    @Test
+    void findFree_whenVersionChangedElsewhere_thenReloadBookings() {
+        ItemCalendar calendar = new ItemCalendar(bookingRepo, itemRepo, 10);
+        when(bookingRepo.findByItemIdAndStatusIn(eq(1L), anyList()))
+                .thenReturn(List.of(booking(1, 3)))
+                .thenReturn(List.of());
+        when(itemRepo.findBookingVersionById(1L)).thenReturn(Optional.of(1L), Optional.of(2L));
+        calendar.findFree(1L, day(0), day(10));
+
+        assertEquals(List.of(slot(0, 10)), calendar.findFree(1L, day(0), day(10)));
+    }
+
+    @Test
+    void occupy_whenCalendarMissedChange_thenReloadOnNextRead() {
+        ItemCalendar calendar = new ItemCalendar(bookingRepo, itemRepo, 10);
+        when(bookingRepo.findByItemIdAndStatusIn(eq(1L), anyList()))
+                .thenReturn(List.of(booking(1, 3)))
+                .thenReturn(List.of(booking(1, 3), booking(5, 6), booking(8, 9)));
+        when(itemRepo.findBookingVersionById(1L)).thenReturn(Optional.of(1L), Optional.of(3L));
+        calendar.findFree(1L, day(0), day(10));
+
+        calendar.occupy(1L, day(8), day(9), 3L);
+
+        assertEquals(List.of(slot(0, 1), slot(3, 5), slot(6, 8), slot(9, 10)), calendar.findFree(1L, day(0), day(10)));
+        verify(bookingRepo, times(2)).findByItemIdAndStatusIn(eq(1L), anyList());
+    }
+
+    @Test
+    void findFree_whenMoreItemsThanCapacity_thenEvictLeastRecentlyUsed() {
+        ItemCalendar calendar = new ItemCalendar(bookingRepo, itemRepo, 2);
+        when(bookingRepo.findByItemIdAndStatusIn(anyLong(), anyList())).thenReturn(List.of());
+
+        calendar.findFree(1L, day(0), day(1));
+        calendar.findFree(2L, day(0), day(1));
+        calendar.findFree(1L, day(0), day(1));
+        calendar.findFree(3L, day(0), day(1));
+        calendar.findFree(1L, day(0), day(1));
+        calendar.findFree(2L, day(0), day(1));
+
+        verify(bookingRepo, times(1)).findByItemIdAndStatusIn(eq(1L), anyList());
+        verify(bookingRepo, times(2)).findByItemIdAndStatusIn(eq(2L), anyList());
+    }
+
+    @Test
+    void findFree_whenItemHasYearsOfBookings_thenReturnGapsInsideWindowOnly() {
+        ItemCalendar calendar = new ItemCalendar(bookingRepo, itemRepo, 10);
+        List<ItemBooking> bookings = new ArrayList<>();
+        for (int i = 0; i < 10 * 365; i++) {
+            bookings.add(new ItemBooking(1L, (long) i, DAY.plusDays(i), DAY.plusDays(i).plusHours(12), 2L));
+        }
+        when(bookingRepo.findByItemIdAndStatusIn(eq(1L), anyList())).thenReturn(bookings);
+
+        List<FreeSlotDto> result = calendar.findFree(1L, day(3000), day(3002));
+
+        assertEquals(List.of(
+                new FreeSlotDto(day(3000).plusHours(12), day(3001)),
+                new FreeSlotDto(day(3001).plusHours(12), day(3002))), result);
+    }
+
+    private static ItemBooking booking(int startDay, int endDay) {
+        return new ItemBooking(1L, (long) startDay, day(startDay), day(endDay), 2L);
+    }
+
+    private static FreeSlotDto slot(int startDay, int endDay) {
+        return new FreeSlotDto(day(startDay), day(endDay));
+    }
+
+    private static LocalDateTime day(int day) {
+        return DAY.plusDays(day);
+    }
+}
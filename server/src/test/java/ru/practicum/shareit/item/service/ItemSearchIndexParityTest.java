@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.util.ItemTest.getNewItem;
+import static ru.practicum.shareit.util.UserTest.getNewUser;
+
+/**
+ * Runs every substring of the indexed texts, in several cases, through both the index and the
+ * database search and expects the same items. Texts with {@code ß} are left out: H2 upper-cases it to
+ * {@code SS}, Postgres keeps it, and the index follows Postgres.
+ */
+@DataJpaTest
+class ItemSearchIndexParityTest {
+    private static final List<String[]> TEXTS = List.of(
+            new String[]{"Drill", "Cordless drill, 18V"},
+            new String[]{"Дрель", "Ударная дрель с кейсом"},
+            new String[]{"Saw", "50% off_hand saw"},
+            new String[]{"Kılıç", "Decorative sword"},
+            new String[]{"ǅungla hat", "Straw hat"},
+            new String[]{"Garden hose", "Hose with reel"},
+            new String[]{"Ladder", "ЛЕСТНИЦА алюминиевая"});
+
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private ItemRepository itemRepo;
+    @Autowired
+    private EntityManager entityManager;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = userRepo.save(getNewUser("owner", "owner@mail.com"));
+        for (String[] text : TEXTS) {
+            itemRepo.save(getNewItem(text[0], text[1], true, owner));
+        }
+        itemRepo.save(getNewItem("Hidden drill", "Not available", false, owner));
+        entityManager.flush();
+        entityManager.clear();
+        index = new ItemSearchIndex(itemRepo, true);
+        index.rebuild();
+    }
+
+    @Test
+    void search_whenIndexAnswers_thenMatchDatabase() {
+        TreeSet<String> queries = new TreeSet<>(List.of("sword drill", "%", "50%", "f_h", "xyz"));
+        for (String[] text : TEXTS) {
+            for (String part : text) {
+                for (int length = 3; length <= 6; length++) {
+                    for (int i = 0; i + length <= part.length(); i++) {
+                        String query = part.substring(i, i + length);
+                        queries.add(query);
+                        queries.add(query.toLowerCase(Locale.ROOT));
+                        queries.add(query.toUpperCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+
+        int answered = 0;
+        for (String query : queries) {
+            Optional<List<Long>> ids = index.search(query, 0, 100);
+            if (ids.isPresent()) {
+                answered++;
+                assertEquals(searchDatabase(query), ids.get(), query);
+            }
+        }
+        assertTrue(answered > queries.size() * 9 / 10);
+    }
+
+    private List<Long> searchDatabase(String text) {
+        return itemRepo.findAvailableByText(text, PageRequest.of(0, 100, Sort.by("id"))).stream()
+                .map(ItemDtoResponse::getId)
+                .collect(toList());
+    }
+}
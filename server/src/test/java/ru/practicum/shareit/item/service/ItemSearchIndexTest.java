@@ -0,0 +1,164 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dao.ItemText;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.util.ItemTest.getNewItem;
+import static ru.practicum.shareit.util.UserTest.getNewUser;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository repository;
+
+    private ItemSearchIndex index;
+    private User owner;
+
+    @BeforeEach
+    void beforeEach() {
+        index = new ItemSearchIndex(repository, true);
+        owner = getNewUser(1L, "owner", "owner@mail.com");
+        when(repository.streamAvailableText()).thenReturn(Stream.of(
+                text(1L, "Drill", "Cordless drill"),
+                text(2L, "Saw", "Hand saw for wood"),
+                text(3L, "Ladder", "Aluminium ladder")));
+        index.rebuild();
+    }
+
+    @Test
+    void search_whenTextMatchesNameOrDescription_thenReturnIds() {
+        assertEquals(Optional.of(List.of(1L)), index.search("rIlL", 0, 20));
+        assertEquals(Optional.of(List.of(2L)), index.search("wood", 0, 20));
+    }
+
+    @Test
+    void search_whenTextMatchesSeveralItems_thenReturnIdsInAscendingOrder() {
+        index.update(getNewItem(4L, "Saw blade", "spare", true, owner));
+
+        assertEquals(Optional.of(List.of(2L, 4L)), index.search("saw", 0, 20));
+    }
+
+    @Test
+    void search_whenTextMatchesAcrossNameAndDescription_thenReturnEmptyList() {
+        assertEquals(Optional.of(List.of()), index.search("drillcord", 0, 20));
+    }
+
+    @Test
+    void search_whenOffsetAndLimitAreSet_thenReturnRequestedPage() {
+        index.update(getNewItem(4L, "Saw blade", "spare", true, owner));
+
+        assertEquals(Optional.of(List.of(4L)), index.search("saw", 1, 1));
+    }
+
+    @Test
+    void search_whenTextIsShorterThanGram_thenIndexCanNotAnswer() {
+        assertTrue(index.search("dr", 0, 20).isEmpty());
+    }
+
+    @Test
+    void update_whenItemBecomesUnavailable_thenRemoveItFromIndex() {
+        Item item = getNewItem(1L, "Drill", "Cordless drill", false, owner);
+
+        index.update(item);
+
+        assertEquals(Optional.of(List.of()), index.search("drill", 0, 20));
+        assertEquals(2, index.footprint().get("items"));
+    }
+
+    @Test
+    void update_whenNameChanges_thenOldTextIsNotFound() {
+        index.update(getNewItem(3L, "Step", "Aluminium step", true, owner));
+
+        assertEquals(Optional.of(List.of()), index.search("ladder", 0, 20));
+        assertEquals(Optional.of(List.of(3L)), index.search("step", 0, 20));
+    }
+
+    @Test
+    void search_whenIndexIsDisabled_thenIndexCanNotAnswer() {
+        ItemSearchIndex disabled = new ItemSearchIndex(repository, false);
+
+        disabled.rebuild();
+
+        assertTrue(disabled.search("drill", 0, 20).isEmpty());
+        verify(repository, times(1)).streamAvailableText();
+    }
+
+    @Test
+    void search_whenQueryHasCharacterWithoutSingleUpperCase_thenIndexCanNotAnswer() {
+        assertTrue(index.search("straße", 0, 20).isEmpty());
+    }
+
+    @Test
+    void search_whenTextHasSharpS_thenFoldLikePostgres() {
+        index.update(getNewItem(4L, "Straßenlampe", "lamp", true, owner));
+
+        assertEquals(Optional.of(List.of()), index.search("strasse", 0, 20));
+        assertEquals(Optional.of(List.of(4L)), index.search("ENLAMP", 0, 20));
+    }
+
+    @Test
+    void update_whenManyItemsChange_thenMergeThemIntoIndex() {
+        for (long id = 4; id < 3000; id++) {
+            index.update(getNewItem(id, "Hammer " + id, "claw", id % 2 == 0, owner));
+        }
+        index.update(getNewItem(2L, "Saw", "Hand saw for wood", false, owner));
+
+        assertEquals(Optional.of(List.of(1000L)), index.search("hammer 1000", 0, 20));
+        assertEquals(Optional.of(List.of()), index.search("hammer 1001", 0, 20));
+        assertEquals(Optional.of(List.of()), index.search("wood", 0, 20));
+        assertEquals(Optional.of(List.of(10L, 12L)), index.search("claw", 3, 2));
+        assertEquals(2 + 1498, index.footprint().get("items"));
+        assertTrue((int) index.footprint().get("changes") <= 1024);
+    }
+
+    @Test
+    void rebuild_whenItemChangesWhileStreaming_thenKeepTheChange() {
+        when(repository.streamAvailableText()).thenReturn(Stream.of(
+                text(1L, "Drill", "Cordless drill"),
+                text(2L, "Saw", "Hand saw for wood")).peek(i -> {
+                    if (i.getId() == 2L) {
+                        index.update(getNewItem(1L, "Drill", "Cordless drill", false, owner));
+                    }
+                }));
+
+        index.rebuild();
+
+        assertEquals(Optional.of(List.of()), index.search("drill", 0, 20));
+        assertEquals(Optional.of(List.of(2L)), index.search("saw", 0, 20));
+    }
+
+    private static ItemText text(Long id, String name, String description) {
+        return new ItemText() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
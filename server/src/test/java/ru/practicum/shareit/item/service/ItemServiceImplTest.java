@@ -17,6 +17,8 @@ import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -37,6 +39,10 @@ import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.booking.model.Status.APPROVED;
 import static ru.practicum.shareit.booking.model.Status.REJECTED;
@@ -67,6 +73,10 @@ class ItemServiceImplTest {
     private BookingRepository bookingRepo;
     @Mock
     private ItemRequestRepository itemRequestRepo;
+    @Mock
+    private ItemSearchIndex searchIndex;
+    @Mock
+    private ItemCalendar calendar;
 
     private User owner;
     private Item item;
@@ -115,18 +125,23 @@ class ItemServiceImplTest {
 
     @Test
     void save_whenAllArgumentsIsCorrectAndRequestIdIsNull_thenReturnItemDtoWithoutItemRequest() {
+        item.setId(1L);
+        itemDtoResponse.setId(1L);
         when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
-        when(itemRepo.saveAndFlush(any(Item.class))).thenReturn(item);
+        when(itemRepo.save(any(Item.class))).thenReturn(item);
 
         ItemDtoResponse result = service.save(itemDtoRequest, 1L);
 
         assertEquals(itemDtoResponse, result);
+        verify(itemRepo).createBookingStates(List.of(1L));
     }
 
     @Test
     void save_whenAllArgumentsIsCorrectAndRequestIdIsNotNull_thenReturnItemDtoWithItemRequest() {
+        item.setId(1L);
+        itemDtoResponse.setId(1L);
         when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
-        when(itemRepo.saveAndFlush(any(Item.class))).thenReturn(item);
+        when(itemRepo.save(any(Item.class))).thenReturn(item);
         itemDtoRequest.setRequestId(1L);
         when(itemRequestRepo.findById(1L)).thenReturn(Optional.ofNullable(request));
         itemDtoResponse.setRequestId(1L);
@@ -136,6 +151,35 @@ class ItemServiceImplTest {
         assertEquals(itemDtoResponse, result);
     }
 
+    @Test
+    void saveAll_whenItemRequestIsUnknown_thenRejectOnlyThatRow() {
+        ItemDtoRequest unknownRequest = ItemDtoRequest
+                .builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .requestId(2L)
+                .build();
+        when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
+        when(itemRequestRepo.findAllById(List.of(2L))).thenReturn(emptyList());
+
+        List<ItemBulkResult> result = service.saveAll(List.of(itemDtoRequest, unknownRequest), 1L);
+
+        assertEquals(List.of(
+                ItemBulkResult.builder().index(0).build(),
+                ItemBulkResult.builder().index(1).error("Item request 2 not found").build()), result);
+        verify(itemRepo, times(1)).saveAll(argThat(items -> ((List<Item>) items).size() == 1));
+        verify(searchIndex, times(1)).update(any(Item.class));
+    }
+
+    @Test
+    void saveAll_whenUserIsUnknown_thenThrowIncorrectIdException() {
+        when(userRepo.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(IncorrectIdException.class, () -> service.saveAll(List.of(itemDtoRequest), 1L));
+        verify(itemRepo, never()).saveAll(anyList());
+    }
+
     @Test
     void save_whenItemDtoRequestIsNull_thenThrowNPE() {
         when(userRepo.findById(1L)).thenReturn(Optional.ofNullable(owner));
@@ -149,7 +193,7 @@ class ItemServiceImplTest {
         owner.setId(1L);
         when(bookingRepo.findByItemIdAndUserIdAndStatusApprovedAndStartBeforeNow(1L, 2L, SORT_BY_START_ASC))
                 .thenReturn(List.of(booking));
-        when(commentRepo.saveAndFlush(any(Comment.class))).thenReturn(comment);
+        when(commentRepo.save(any(Comment.class))).thenReturn(comment);
 
         CommentDtoResponse result = service.saveComment(commentDtoRequest, 1L, 2L);
 
@@ -172,7 +216,7 @@ class ItemServiceImplTest {
 
         assertThrows(IncorrectBookerId.class, () -> service.saveComment(commentDtoRequest, 1L, 2L));
 
-        verify(commentRepo, never()).saveAndFlush(any());
+        verify(commentRepo, never()).save(any());
     }
 
     @Test
@@ -280,9 +324,10 @@ class ItemServiceImplTest {
     void findById_whenCommentsIsNotNullAndBookingsIsNotNullAndUserIsOwner_thenReturnItemDtoWithCommentsAndBookings() {
         when(itemRepo.findById(1L)).thenReturn(Optional.ofNullable(item));
         when(commentRepo.findByItemIn(List.of(item), SORT_BY_CREATED_DESC)).thenReturn(List.of(comment));
-        when(bookingRepo.findAllByOwnerIdAndStatusNotIn(1L, REJECTED, SORT_BY_START_DESC))
-                .thenReturn(List.of(booking));
-        ItemDtoResponse correctResult = ItemMapper.mapToItemDto(item, List.of(comment), List.of(booking));
+        when(bookingRepo.findFirstByItemIdAndStatusNotAndStartLessThanEqualOrderByStartDesc(eq(1L), eq(REJECTED),
+                any(LocalDateTime.class)))
+                .thenReturn(Optional.of(booking));
+        ItemDtoResponse correctResult = ItemMapper.mapToItemDto(item, List.of(comment), booking, null);
 
         ItemDtoResponse result = service.findById(1L, 1L);
 
@@ -293,13 +338,13 @@ class ItemServiceImplTest {
     void findById_whenCommentsIsNotNullAndBookingsNotIsNullAndUserIsNotOwner_thenReturnItemDtoWithCommentsAndBookings() {
         when(itemRepo.findById(1L)).thenReturn(Optional.ofNullable(item));
         when(commentRepo.findByItemIn(List.of(item), SORT_BY_CREATED_DESC)).thenReturn(List.of(comment));
-        when(bookingRepo.findAllByOwnerIdAndStatusNotIn(2L, REJECTED, SORT_BY_START_DESC))
-                .thenReturn(List.of(booking));
         ItemDtoResponse correctResult = ItemMapper.mapToItemDto(item, List.of(comment));
 
         ItemDtoResponse result = service.findById(1L, 2L);
 
         assertEquals(correctResult, result);
+        verify(bookingRepo, never())
+                .findFirstByItemIdAndStatusNotAndStartLessThanEqualOrderByStartDesc(anyLong(), any(), any());
     }
 
     @Test
@@ -346,7 +391,7 @@ class ItemServiceImplTest {
 
     @Test
     void findAll() {
-        when(itemRepo.findItemsByUserId(1L, PageRequest.of(0, 2))).thenReturn(List.of(item));
+        when(itemRepo.findItemsByUserId(1L, PageRequest.of(0, 2))).thenReturn(List.of(ItemMapper.mapToItemDto(item)));
         itemDtoResponse.setComments(emptyList());
 
         List<ItemDtoResponse> result = service.findAll(1L, 0, 2);
@@ -354,6 +399,30 @@ class ItemServiceImplTest {
         assertEquals(List.of(itemDtoResponse), result);
     }
 
+    @Test
+    void findAvailability_whenItemIsNotFound_thenThrowIncorrectIdException() {
+        when(itemRepo.existsById(1L)).thenReturn(false);
+
+        assertThrows(IncorrectIdException.class, () -> service.findAvailability(1L, NOW, NOW.plusDays(1)));
+    }
+
+    @Test
+    void findAvailability_whenItemIsFound_thenReturnFreeSlots() {
+        List<FreeSlotDto> slots = List.of(new FreeSlotDto(NOW, NOW.plusDays(1)));
+        when(itemRepo.existsById(1L)).thenReturn(true);
+        when(calendar.findFree(1L, NOW, NOW.plusDays(1))).thenReturn(slots);
+
+        assertEquals(slots, service.findAvailability(1L, NOW, NOW.plusDays(1)));
+    }
+
+    @Test
+    void findAvailability_whenFromIsNotBeforeTo_thenReturnEmptyList() {
+        when(itemRepo.existsById(1L)).thenReturn(true);
+
+        assertEquals(List.of(), service.findAvailability(1L, NOW, NOW));
+        verify(calendar, never()).findFree(anyLong(), any(), any());
+    }
+
     @Test
     void search_whenTextIsBlank_thenReturnEmptyList() {
         String text = "    ";
@@ -361,20 +430,33 @@ class ItemServiceImplTest {
         List<ItemDtoResponse> result = service.search(1L, text, 2, 1);
 
         assertEquals(emptyList(), result);
+        verify(itemRepo, never()).findAvailableByText(any(), any());
     }
 
 
     @Test
     void search_whenTextIsNotBlank_thenReturnItems() {
         String text = "name";
-        when(itemRepo.findItemsByAvailableTrueAndDescriptionContainingIgnoreCaseOrNameContainingIgnoreCase(text,
-                text, PageRequest.of(2, 1)))
-                .thenReturn(List.of(item));
+        when(itemRepo.findAvailableByText(text, PageRequest.of(2, 1, Sort.by(Sort.Direction.ASC, "id"))))
+                .thenReturn(List.of(ItemMapper.mapToItemDto(item)));
+        itemDtoResponse.setComments(emptyList());
+
+        List<ItemDtoResponse> result = service.search(1L, text, 2, 1);
+
+        assertEquals(List.of(itemDtoResponse), result);
+    }
+
+    @Test
+    void search_whenIndexAnswers_thenLoadItemsById() {
+        String text = "name";
+        when(searchIndex.search(text, 2, 1)).thenReturn(Optional.of(List.of(1L)));
+        when(itemRepo.findItemsByIdIn(List.of(1L))).thenReturn(List.of(ItemMapper.mapToItemDto(item)));
         itemDtoResponse.setComments(emptyList());
 
         List<ItemDtoResponse> result = service.search(1L, text, 2, 1);
 
         assertEquals(List.of(itemDtoResponse), result);
+        verify(itemRepo, never()).findAvailableByText(any(), any());
     }
 
     @AfterEach
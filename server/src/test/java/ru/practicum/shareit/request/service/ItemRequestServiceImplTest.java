@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.exception.IncorrectIdException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
@@ -21,8 +22,11 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.util.ItemTest.getNewItem;
 import static ru.practicum.shareit.util.RequestTest.getNewRequest;
@@ -59,7 +63,7 @@ class ItemRequestServiceImplTest {
         ItemRequestDtoRequest dto = new ItemRequestDtoRequest();
         dto.setDescription("description");
         when(userRepo.findById(anyLong())).thenReturn(Optional.ofNullable(user));
-        when(requestRepo.saveAndFlush(any())).thenReturn(request);
+        when(requestRepo.save(any())).thenReturn(request);
 
         ItemRequestDtoResponse result = service.save(dto, 2L);
 
@@ -71,7 +75,7 @@ class ItemRequestServiceImplTest {
 
     @Test
     void findById() {
-        when(userRepo.findById(anyLong())).thenReturn(Optional.ofNullable(user));
+        when(userRepo.existsById(anyLong())).thenReturn(true);
         when(requestRepo.findById(anyLong())).thenReturn(Optional.ofNullable(request));
         when(itemRepo.findAllByItemRequestIn(any())).thenReturn(List.of(item));
 
@@ -99,10 +103,12 @@ class ItemRequestServiceImplTest {
 
     @Test
     void findAll_whenSizeIsNotNull_thenReturnRequests() {
-        when(userRepo.findById(2L)).thenReturn(Optional.ofNullable(user));
-        List<ItemRequest> requests = List.of(request);
-        when(requestRepo.findAllByUserIdNotIn(2L, PageRequest.of(0 / 1, 1))).thenReturn(requests);
-        when(itemRepo.findAllByItemRequestIn(requests)).thenReturn(List.of(item));
+        when(requestRepo.findAllByUserIdNotIn(2L, PageRequest.of(0 / 1, 1)))
+                .thenReturn(List.of(new ItemRequestDtoResponse(request.getId(), request.getDescription(),
+                        request.getCreated())));
+        when(itemRepo.findItemsByItemRequestIdIn(List.of(1L)))
+                .thenReturn(List.of(new ItemRequestDtoResponse.ItemDto(item.getId(), item.getName(),
+                        item.getDescription(), item.getAvailable(), request.getId())));
 
         List<ItemRequestDtoResponse> result = service.findAll(0, 1, 2L);
 
@@ -111,4 +117,13 @@ class ItemRequestServiceImplTest {
         assertEquals(request.getCreated(), result.get(0).getCreated());
         assertEquals(item.getId(), result.get(0).getItems().get(0).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAll_whenUserIsNotFound_thenThrowIncorrectIdException() {
+        when(requestRepo.findAllByUserIdNotIn(2L, PageRequest.of(0, 1))).thenReturn(List.of());
+        when(userRepo.existsById(2L)).thenReturn(false);
+
+        assertThrows(IncorrectIdException.class, () -> service.findAll(0, 1, 2L));
+        verify(itemRepo, never()).findItemsByItemRequestIdIn(any());
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.util;
+
+import org.hibernate.Cache;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.jdbc.SqlScriptsTestExecutionListener;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Empties the second-level and query caches before every test, after its {@code @Sql} scripts ran.
+ * The scripts reset tables behind Hibernate's back and restart the id sequences, so entries cached by
+ * an earlier test would otherwise be served for the new rows with the same ids.
+ */
+public class SecondLevelCacheResetListener extends AbstractTestExecutionListener {
+
+    @Override
+    public int getOrder() {
+        return new SqlScriptsTestExecutionListener().getOrder() + 1;
+    }
+
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        testContext.getApplicationContext().getBeanProvider(EntityManagerFactory.class).ifAvailable(factory -> {
+            factory.getCache().evictAll();
+            factory.getCache().unwrap(Cache.class).evictQueryRegions();
+        });
+    }
+}
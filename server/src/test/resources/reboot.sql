@@ -3,18 +3,15 @@ FROM bookings;
 DELETE
 FROM comments;
 DELETE
+FROM item_booking_states;
+DELETE
 FROM items;
 DELETE
 FROM requests;
 DELETE
 FROM users;
-ALTER TABLE users
-    ALTER COLUMN id RESTART;
-ALTER TABLE items
-    ALTER COLUMN id RESTART;
-ALTER TABLE requests
-    ALTER COLUMN id RESTART;
-ALTER TABLE bookings
-    ALTER COLUMN id RESTART;
-ALTER TABLE comments
-    ALTER COLUMN id RESTART;
\ No newline at end of file
+ALTER SEQUENCE users_seq RESTART WITH 1;
+ALTER SEQUENCE items_seq RESTART WITH 1;
+ALTER SEQUENCE requests_seq RESTART WITH 1;
+ALTER SEQUENCE bookings_seq RESTART WITH 1;
+ALTER SEQUENCE comments_seq RESTART WITH 1;
\ No newline at end of file
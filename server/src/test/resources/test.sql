@@ -1,17 +1,26 @@
-insert into users (name, email)
-values ('owner', 'owner@mail.com');
+insert into users (id, name, email)
+values (1, 'owner', 'owner@mail.com');
 
-insert into users (name, email)
-values ('booker', 'booker@mail.com');
+insert into users (id, name, email)
+values (2, 'booker', 'booker@mail.com');
 
-insert into requests (user_id, description, created)
-values (2, 'request', parsedatetime('01-01-2025', 'dd-MM-yyyy'));
+insert into requests (id, user_id, description, created)
+values (1, 2, 'request', parsedatetime('01-01-2025', 'dd-MM-yyyy'));
 
-insert into items (user_id, name, description, available)
-values (1, 'item', 'item', true);
+insert into items (id, user_id, name, description, available)
+values (1, 1, 'item', 'item', true);
 
-insert into bookings (start, end_time, status, item_id, user_id)
-values (parsedatetime('01-02-2025', 'dd-MM-yyyy'), parsedatetime('01-03-2025', 'dd-MM-yyyy'), 'APPROVED', 1, 2);
+insert into item_booking_states (item_id)
+values (1);
 
-insert into comments (text, item_id, user_id, created)
-values ('comment', 1, 2, parsedatetime('01-04-2025', 'dd-MM-yyyy'));
\ No newline at end of file
+insert into bookings (id, start, end_time, status, item_id, user_id)
+values (1, parsedatetime('01-02-2025', 'dd-MM-yyyy'), parsedatetime('01-03-2025', 'dd-MM-yyyy'), 'APPROVED', 1, 2);
+
+insert into comments (id, text, item_id, user_id, created)
+values (1, 'comment', 1, 2, parsedatetime('01-04-2025', 'dd-MM-yyyy'));
+
+ALTER SEQUENCE users_seq RESTART WITH 3;
+ALTER SEQUENCE requests_seq RESTART WITH 2;
+ALTER SEQUENCE items_seq RESTART WITH 2;
+ALTER SEQUENCE bookings_seq RESTART WITH 2;
+ALTER SEQUENCE comments_seq RESTART WITH 2;
\ No newline at end of file